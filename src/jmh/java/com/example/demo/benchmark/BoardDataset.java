@@ -0,0 +1,108 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.mapper.UserMapper;
+import com.example.demo.service.CustomUserDetailsService;
+import com.example.demo.service.DatasetGenerator;
+import com.example.demo.service.NotificationService;
+import com.example.demo.service.PostService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.SplittableRandom;
+
+/**
+ * JMH state holding the running application, seeded with a dataset of the requested size.
+ * The application runs on a random port against its own in-memory H2 database with SQL logging
+ * off, and {@link DatasetGenerator} loads the data from a fixed seed, so every trial measures the same rows.
+ */
+@State(Scope.Benchmark)
+public class BoardDataset {
+
+    static final long SEED = 42L;
+
+    /** Words that appear in post titles, used as title search terms. */
+    static final String[] TITLE_WORDS = DatasetGenerator.ENGLISH_WORDS.toArray(new String[0]);
+
+    private static final int BOARDS = 10;
+
+    /** Number of posts and notifications; the user count is a tenth of it. */
+    @Param({"10000", "100000"})
+    public int posts;
+
+    private ConfigurableApplicationContext context;
+    private long[] postIds;
+    private long[] userIds;
+    private String[] usernames;
+
+    // Resolved once, so the benchmarks do not measure bean lookups
+    PostService postService;
+    NotificationService notificationService;
+    CustomUserDetailsService userDetailsService;
+    UserMapper userMapper;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "spring.h2.console.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        seed(context.getBean(JdbcTemplate.class));
+        postService = context.getBean(PostService.class);
+        notificationService = context.getBean(NotificationService.class);
+        userDetailsService = context.getBean(CustomUserDetailsService.class);
+        userMapper = context.getBean(UserMapper.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public long randomPostId(SplittableRandom random) {
+        return postIds[random.nextInt(postIds.length)];
+    }
+
+    public long randomUserId(SplittableRandom random) {
+        return userIds[random.nextInt(userIds.length)];
+    }
+
+    public String randomUsername(SplittableRandom random) {
+        return usernames[random.nextInt(usernames.length)];
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        context.getBean(DatasetGenerator.class).generate(BOARDS, Math.max(100, posts / 10), posts, posts, SEED);
+        postIds = ids(jdbcTemplate, "posts");
+        userIds = ids(jdbcTemplate, "users");
+        usernames = jdbcTemplate.queryForList("SELECT username FROM users ORDER BY id", String.class)
+                .toArray(new String[0]);
+    }
+
+    private static long[] ids(JdbcTemplate jdbcTemplate, String table) {
+        return jdbcTemplate.queryForList("SELECT id FROM " + table + " ORDER BY id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Per-thread source of random picks, seeded so every run visits the same sequence of rows.
+     */
+    @State(Scope.Thread)
+    public static class Picks {
+        public final SplittableRandom random = new SplittableRandom(SEED);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.Post;
+import com.example.demo.service.PostService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the post listing, detail and title search paths of {@link PostService}.
+ * Throughput mode gives operations per millisecond, sample mode the latency percentiles.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class PostServiceBenchmark {
+
+    // Same order as the post listing in PostController
+    private static final Sort LISTING_SORT = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+    private static final int PAGE_SIZE = 10;
+    private static final int PAGES = 10;
+
+    @Benchmark
+    public Page<Post> getAllPosts(BoardDataset dataset, BoardDataset.Picks picks) {
+        return dataset.postService.getAllPosts(PageRequest.of(picks.random.nextInt(PAGES), PAGE_SIZE, LISTING_SORT));
+    }
+
+    @Benchmark
+    public Optional<Post> getPostByIdAndIncrementViewCount(BoardDataset dataset, BoardDataset.Picks picks) {
+        PostService postService = dataset.postService;
+        Optional<Post> post = postService.getPostById(dataset.randomPostId(picks.random));
+        post.ifPresent(postService::incrementViewCount);
+        return post;
+    }
+
+    @Benchmark
+    public Page<Post> searchPostsByTitle(BoardDataset dataset, BoardDataset.Picks picks) {
+        String word = BoardDataset.TITLE_WORDS[picks.random.nextInt(BoardDataset.TITLE_WORDS.length)];
+        return dataset.postService.searchPostsByTitle(word, PageRequest.of(0, PAGE_SIZE));
+    }
+}
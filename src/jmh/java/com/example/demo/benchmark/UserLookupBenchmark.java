@@ -0,0 +1,35 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the user lookup done on login and of the MyBatis full user listing.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class UserLookupBenchmark {
+
+    @Benchmark
+    public UserDetails loadUserByUsername(BoardDataset dataset, BoardDataset.Picks picks) {
+        return dataset.userDetailsService.loadUserByUsername(dataset.randomUsername(picks.random));
+    }
+
+    @Benchmark
+    public List<User> userMapperFindAll(BoardDataset dataset) {
+        return dataset.userMapper.findAll();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.demo.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class for scheduled background tasks.
+ * This enables processing of @Scheduled methods such as the view count flusher.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // The scheduler pool size is configured with spring.task.scheduling.pool.size
+    // in application.properties.
+}
@@ -1,14 +1,15 @@
 package com.example.demo.config;
 
+import com.example.demo.security.SlimPrincipalAuthenticationProvider;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
@@ -20,21 +21,35 @@ import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
     private final UserDetailsService userDetailsService;
+    private final UserDetailsPasswordService userDetailsPasswordService;
+    private final UserCache userCache;
+    private final PasswordEncoder passwordEncoder;
 
+    /**
+     * The password encoder is {@link com.example.demo.security.PasswordHashingService}, which hashes
+     * on its own bounded pool instead of the request thread.
+     */
     @Autowired
-    public SecurityConfig(UserDetailsService userDetailsService) {
+    public SecurityConfig(UserDetailsService userDetailsService,
+                          UserDetailsPasswordService userDetailsPasswordService,
+                          UserCache userCache,
+                          PasswordEncoder passwordEncoder) {
         this.userDetailsService = userDetailsService;
-    }
-
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        this.userDetailsPasswordService = userDetailsPasswordService;
+        this.userCache = userCache;
+        this.passwordEncoder = passwordEncoder;
     }
 
     @Override
     protected void configure(AuthenticationManagerBuilder auth) throws Exception {
-        auth.userDetailsService(userDetailsService)
-            .passwordEncoder(passwordEncoder());
+        // Repeated logins are served from the user cache instead of querying the users table
+        SlimPrincipalAuthenticationProvider provider = new SlimPrincipalAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserCache(userCache);
+        // Hashes with an outdated work factor are replaced on the next successful login
+        provider.setPasswordUpdater(userDetailsPasswordService);
+        auth.authenticationProvider(provider);
     }
 
     @Override
@@ -42,7 +57,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         http
             // Configure authorization
             .authorizeRequests()
-                .antMatchers("/", "/home", "/users/register", "/css/**", "/js/**", "/images/**", "/h2-console/**").permitAll()
+                .antMatchers("/", "/home", "/users/register", "/users/availability", "/css/**", "/js/**", "/images/**", "/h2-console/**").permitAll()
                 .antMatchers("/users/**").hasRole("USER")
                 .antMatchers("/boards/**", "/posts/**").hasRole("USER")
                 .anyRequest().authenticated()
@@ -2,6 +2,7 @@ package com.example.demo.controller;
 
 import com.example.demo.model.Board;
 import com.example.demo.service.BoardService;
+import com.example.demo.service.PostService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -20,11 +21,16 @@ import java.util.List;
 @RequestMapping("/boards")
 public class BoardController {
 
+    /** Number of posts shown on a board's page; the full list is under /posts/board/{id}. */
+    private static final int LATEST_POSTS = 10;
+
     private final BoardService boardService;
+    private final PostService postService;
 
     @Autowired
-    public BoardController(BoardService boardService) {
+    public BoardController(BoardService boardService, PostService postService) {
         this.boardService = boardService;
+        this.postService = postService;
     }
 
     /**
@@ -91,6 +97,9 @@ public class BoardController {
         return boardService.getBoardById(id)
                 .map(board -> {
                     model.addAttribute("board", board);
+                    // Latest posts as summaries, so the page never loads the posts collection or their content
+                    model.addAttribute("posts",
+                            postService.getPostSummariesByCursor(id, null, null, LATEST_POSTS).getContent());
                     return "board/view";
                 })
                 .orElse("redirect:/boards");
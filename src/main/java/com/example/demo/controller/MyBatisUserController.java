@@ -1,13 +1,25 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.UserUpdate;
 import com.example.demo.model.User;
 import com.example.demo.service.MyBatisUserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * REST controller for User operations using MyBatis.
@@ -35,6 +47,40 @@ public class MyBatisUserController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Export all users as JSON, NDJSON or CSV.
+     * Rows are written to the response as they are read from a database cursor,
+     * so memory use stays constant however many users there are. The body is written
+     * asynchronously, bounded by spring.mvc.async.request-timeout.
+     *
+     * @param formatName the output format: json, ndjson or csv
+     * @return the streamed response body
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(name = "format", defaultValue = "json") String formatName) {
+        MyBatisUserService.ExportFormat format;
+        try {
+            format = MyBatisUserService.ExportFormat.valueOf(formatName.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> myBatisUserService.exportUsers(out, format);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        switch (format) {
+            case NDJSON:
+                response.contentType(MediaType.parseMediaType("application/x-ndjson"));
+                break;
+            case CSV:
+                response.contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.csv\"");
+                break;
+            default:
+                response.contentType(MediaType.APPLICATION_JSON);
+        }
+        return response.body(body);
+    }
+
     /**
      * Get a user by ID.
      *
@@ -60,17 +106,62 @@ public class MyBatisUserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
     }
 
+    /**
+     * Create several users with batched multi-row inserts.
+     *
+     * @param users the users to create
+     * @return the created users
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<User>> createUsers(@RequestBody List<User> users) {
+        List<User> createdUsers = myBatisUserService.registerUsers(users);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdUsers);
+    }
+
+    /**
+     * Get several users by ID with a single query.
+     *
+     * @param ids the user IDs
+     * @return the users found
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<List<User>> getUsersByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(myBatisUserService.getUsersByIds(ids));
+    }
+
+    /**
+     * Bulk import users from a JSON array in the request body.
+     * The body is streamed and written in batches, so arbitrarily large arrays can be imported.
+     *
+     * @param request the HTTP request whose body is the JSON array
+     * @return the number of imported users and the time it took
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> importUsers(HttpServletRequest request) throws IOException {
+        long start = System.nanoTime();
+        try {
+            int imported = myBatisUserService.importUsers(request.getInputStream());
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("imported", imported);
+            result.put("elapsedMs", elapsedMs);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+    }
+
     /**
      * Update a user.
      *
      * @param id the user ID
-     * @param user the updated user details
+     * @param changes the fields to change; omitted fields are left unchanged
      * @return the updated user
      */
     @PutMapping("/{id}")
-    public ResponseEntity<User> updateUser(@PathVariable Long id, @RequestBody User user) {
+    public ResponseEntity<User> updateUser(@PathVariable Long id, @RequestBody UserUpdate changes) {
         try {
-            User updatedUser = myBatisUserService.updateUser(id, user);
+            User updatedUser = myBatisUserService.updateUser(id, changes);
             return ResponseEntity.ok(updatedUser);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
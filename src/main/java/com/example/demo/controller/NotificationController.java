@@ -1,16 +1,21 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.KeysetCursor;
+import com.example.demo.dto.NotificationSummary;
 import com.example.demo.model.Notification;
-import com.example.demo.model.User;
+import com.example.demo.security.AuthenticatedUser;
+import com.example.demo.service.NotificationPushService;
 import com.example.demo.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -20,27 +25,64 @@ import java.util.Optional;
 @RequestMapping("/notifications")
 public class NotificationController {
 
+    private static final int PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final NotificationService notificationService;
+    private final NotificationPushService notificationPushService;
 
     @Autowired
-    public NotificationController(NotificationService notificationService) {
+    public NotificationController(NotificationService notificationService,
+                                  NotificationPushService notificationPushService) {
         this.notificationService = notificationService;
+        this.notificationPushService = notificationPushService;
     }
 
     /**
-     * Display all notifications for the current user.
+     * Display the first page of notifications for the current user.
+     * Older notifications are loaded on demand from {@link #getNotificationFeed}.
      *
      * @param user the authenticated user
+     * @param unread whether to show only unread notifications
      * @param model the model to add attributes to
      * @return the view name
      */
     @GetMapping
-    public String getNotifications(@AuthenticationPrincipal User user, Model model) {
-        List<Notification> notifications = notificationService.getNotificationsForUser(user);
-        model.addAttribute("notifications", notifications);
+    public String getNotifications(@AuthenticationPrincipal AuthenticatedUser user,
+                                   @RequestParam(defaultValue = "false") boolean unread,
+                                   Model model) {
+        CursorPage<NotificationSummary> page = notificationService.getNotificationPage(user.getId(), unread, null, PAGE_SIZE);
+        model.addAttribute("notifications", page.getContent());
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("unreadOnly", unread);
         return "notification/list";
     }
 
+    /**
+     * Get a page of notifications as JSON, for infinite scrolling.
+     *
+     * @param user the authenticated user
+     * @param after cursor of the last notification already shown, or null for the first page
+     * @param unread whether to return only unread notifications
+     * @param size the page size
+     * @return the notifications and the cursor of the next page (null when there are no more)
+     */
+    @GetMapping("/feed")
+    @ResponseBody
+    public ResponseEntity<CursorPage<NotificationSummary>> getNotificationFeed(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean unread,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            KeysetCursor cursor = after != null ? KeysetCursor.parse(after) : null;
+            int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+            return ResponseEntity.ok(notificationService.getNotificationPage(user.getId(), unread, cursor, pageSize));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Get the count of unread notifications for the current user.
      *
@@ -49,11 +91,24 @@ public class NotificationController {
      */
     @GetMapping("/count")
     @ResponseBody
-    public ResponseEntity<Long> getUnreadCount(@AuthenticationPrincipal User user) {
-        long count = notificationService.countUnreadNotificationsForUser(user);
+    public ResponseEntity<Long> getUnreadCount(@AuthenticationPrincipal AuthenticatedUser user) {
+        long count = notificationService.countUnreadNotificationsForUser(user.getId());
         return ResponseEntity.ok(count);
     }
 
+    /**
+     * Open a Server-Sent Events stream that pushes the unread count and new notifications
+     * for the current user, replacing polling of {@link #getUnreadCount}.
+     *
+     * @param user the authenticated user
+     * @return the event stream
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter streamNotifications(@AuthenticationPrincipal AuthenticatedUser user) {
+        return notificationPushService.subscribe(user.getId());
+    }
+
     /**
      * Mark a notification as read.
      *
@@ -62,7 +117,7 @@ public class NotificationController {
      * @return redirect to the notifications page
      */
     @PostMapping("/{id}/read")
-    public String markAsRead(@PathVariable Long id, @AuthenticationPrincipal User user) {
+    public String markAsRead(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser user) {
         Optional<Notification> notification = notificationService.markNotificationAsRead(id);
         
         // If the notification has a related URL, redirect to it
@@ -80,8 +135,20 @@ public class NotificationController {
      * @return redirect to the notifications page
      */
     @PostMapping("/read-all")
-    public String markAllAsRead(@AuthenticationPrincipal User user) {
-        notificationService.markAllNotificationsAsRead(user);
+    public String markAllAsRead(@AuthenticationPrincipal AuthenticatedUser user) {
+        notificationService.markAllNotificationsAsRead(user.getId());
+        return "redirect:/notifications";
+    }
+
+    /**
+     * Delete all read notifications for the current user.
+     *
+     * @param user the authenticated user
+     * @return redirect to the notifications page
+     */
+    @PostMapping("/delete-read")
+    public String deleteReadNotifications(@AuthenticationPrincipal AuthenticatedUser user) {
+        notificationService.deleteReadNotifications(user.getId());
         return "redirect:/notifications";
     }
 
@@ -1,5 +1,8 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.KeysetCursor;
+import com.example.demo.dto.PostSummary;
 import com.example.demo.model.Board;
 import com.example.demo.model.Post;
 import com.example.demo.model.User;
@@ -27,6 +30,12 @@ import java.util.Optional;
 @RequestMapping("/posts")
 public class PostController {
 
+    /** Listing order shared by offset and cursor pagination, so both walk posts identically. */
+    private static final Sort LISTING_SORT = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
+    /** Number of posts on a board's hot page. */
+    private static final int HOT_POSTS_LIMIT = 20;
+
     private final PostService postService;
     private final BoardService boardService;
     private final UserService userService;
@@ -40,33 +49,54 @@ public class PostController {
 
     /**
      * Display all posts with pagination.
+     * When an after/before cursor is given the listing seeks by (createdAt, id)
+     * instead of using OFFSET, and no total count is computed.
      *
      * @param page the page number
      * @param size the page size
+     * @param after cursor of the last post on the previous page, for the next (older) page
+     * @param before cursor of the first post on the next page, for the previous (newer) page
      * @param model the model to add attributes to
      * @return the view name
      */
     @GetMapping
     public String getAllPosts(@RequestParam(defaultValue = "0") int page,
                               @RequestParam(defaultValue = "10") int size,
+                              @RequestParam(required = false) String after,
+                              @RequestParam(required = false) String before,
                               Model model) {
-        Page<Post> postPage = postService.getAllPosts(
-                PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt")));
+        if (after != null || before != null) {
+            try {
+                CursorPage<PostSummary> cursorPage = postService.getPostSummariesByCursor(
+                        parseCursor(after), parseCursor(before), size);
+                addCursorAttributes(model, cursorPage);
+                return "post/list";
+            } catch (IllegalArgumentException e) {
+                return "redirect:/posts";
+            }
+        }
+
+        Page<PostSummary> postPage = postService.getAllPostSummaries(
+                PageRequest.of(page, size, LISTING_SORT));
         
         model.addAttribute("posts", postPage.getContent());
         model.addAttribute("currentPage", page);
         model.addAttribute("totalPages", postPage.getTotalPages());
         model.addAttribute("totalItems", postPage.getTotalElements());
+        model.addAttribute("nextCursor", lastCursor(postPage.getContent()));
         
         return "post/list";
     }
 
     /**
      * Display posts for a specific board with pagination.
+     * Supports the same after/before cursors as {@link #getAllPosts}.
      *
      * @param boardId the board ID
      * @param page the page number
      * @param size the page size
+     * @param after cursor of the last post on the previous page, for the next (older) page
+     * @param before cursor of the first post on the next page, for the previous (newer) page
      * @param model the model to add attributes to
      * @return the view name
      */
@@ -74,6 +104,8 @@ public class PostController {
     public String getPostsByBoard(@PathVariable Long boardId,
                                   @RequestParam(defaultValue = "0") int page,
                                   @RequestParam(defaultValue = "10") int size,
+                                  @RequestParam(required = false) String after,
+                                  @RequestParam(required = false) String before,
                                   Model model) {
         Optional<Board> boardOpt = boardService.getBoardById(boardId);
         if (!boardOpt.isPresent()) {
@@ -81,18 +113,70 @@ public class PostController {
         }
         
         Board board = boardOpt.get();
-        Page<Post> postPage = postService.getPostsByBoard(
-                boardId, PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt")));
-        
         model.addAttribute("board", board);
+
+        if (after != null || before != null) {
+            try {
+                CursorPage<PostSummary> cursorPage = postService.getPostSummariesByCursor(
+                        boardId, parseCursor(after), parseCursor(before), size);
+                addCursorAttributes(model, cursorPage);
+                model.addAttribute("totalItems", board.getPostCount());
+                return "post/board-posts";
+            } catch (IllegalArgumentException e) {
+                return "redirect:/posts/board/" + boardId;
+            }
+        }
+
+        Page<PostSummary> postPage = postService.getPostSummariesByBoard(
+                boardId, PageRequest.of(page, size, LISTING_SORT));
+        
         model.addAttribute("posts", postPage.getContent());
         model.addAttribute("currentPage", page);
         model.addAttribute("totalPages", postPage.getTotalPages());
         model.addAttribute("totalItems", postPage.getTotalElements());
+        model.addAttribute("nextCursor", lastCursor(postPage.getContent()));
         
         return "post/board-posts";
     }
 
+    /**
+     * Display the posts of a board that are popular right now, ranked by recent views.
+     *
+     * @param boardId the board ID
+     * @param model the model to add attributes to
+     * @return the view name
+     */
+    @GetMapping("/board/{boardId}/hot")
+    public String getHotPostsByBoard(@PathVariable Long boardId, Model model) {
+        Optional<Board> boardOpt = boardService.getBoardById(boardId);
+        if (!boardOpt.isPresent()) {
+            return "redirect:/boards";
+        }
+
+        model.addAttribute("board", boardOpt.get());
+        model.addAttribute("posts", postService.getHotPostSummaries(boardId, HOT_POSTS_LIMIT));
+        return "post/board-hot";
+    }
+
+    private static KeysetCursor parseCursor(String value) {
+        return value != null ? KeysetCursor.parse(value) : null;
+    }
+
+    private static void addCursorAttributes(Model model, CursorPage<PostSummary> cursorPage) {
+        model.addAttribute("cursorMode", true);
+        model.addAttribute("posts", cursorPage.getContent());
+        model.addAttribute("nextCursor", cursorPage.getNextCursor());
+        model.addAttribute("previousCursor", cursorPage.getPreviousCursor());
+    }
+
+    private static KeysetCursor lastCursor(List<PostSummary> posts) {
+        if (posts.isEmpty()) {
+            return null;
+        }
+        PostSummary last = posts.get(posts.size() - 1);
+        return new KeysetCursor(last.getCreatedAt(), last.getId());
+    }
+
     /**
      * Display a form to create a new post.
      *
@@ -161,9 +245,10 @@ public class PostController {
         
         Post post = postOpt.get();
         // Increment view count
-        postService.incrementViewCount(id);
+        postService.incrementViewCount(post);
         
         model.addAttribute("post", post);
+        model.addAttribute("viewCount", postService.getCurrentViewCount(post));
         return "post/view";
     }
 
@@ -243,6 +328,7 @@ public class PostController {
 
     /**
      * Search posts by title or content.
+     * Results come from the full-text index and are ordered by relevance.
      *
      * @param query the search query
      * @param page the page number
@@ -255,18 +341,13 @@ public class PostController {
                               @RequestParam(defaultValue = "0") int page,
                               @RequestParam(defaultValue = "10") int size,
                               Model model) {
-        Page<Post> titleResults = postService.searchPostsByTitle(
-                query, PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt")));
-        
-        Page<Post> contentResults = postService.searchPostsByContent(
-                query, PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt")));
+        Page<PostSummary> results = postService.searchPosts(query, PageRequest.of(page, size));
         
-        model.addAttribute("titleResults", titleResults.getContent());
-        model.addAttribute("contentResults", contentResults.getContent());
+        model.addAttribute("posts", results.getContent());
         model.addAttribute("query", query);
         model.addAttribute("currentPage", page);
-        model.addAttribute("totalTitlePages", titleResults.getTotalPages());
-        model.addAttribute("totalContentPages", contentResults.getTotalPages());
+        model.addAttribute("totalPages", results.getTotalPages());
+        model.addAttribute("totalItems", results.getTotalElements());
         
         return "post/search-results";
     }
@@ -1,8 +1,14 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.UserSummary;
 import com.example.demo.model.User;
+import com.example.demo.security.AuthenticatedUser;
 import com.example.demo.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
@@ -12,7 +18,12 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import javax.validation.Valid;
-import java.util.List;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Controller for handling user-related requests.
@@ -21,6 +32,12 @@ import java.util.List;
 @RequestMapping("/users")
 public class UserController {
 
+    /** Properties the user directory can be sorted by; each one is indexed. */
+    private static final Set<String> DIRECTORY_SORTS =
+            new HashSet<>(Arrays.asList("username", "createdAt", "lastLogin"));
+
+    private static final int MAX_DIRECTORY_PAGE_SIZE = 100;
+
     private final UserService userService;
 
     @Autowired
@@ -29,15 +46,37 @@ public class UserController {
     }
 
     /**
-     * Display all users.
+     * Display one page of the user directory.
      *
+     * @param q optional username prefix, or email prefix if it contains '@', to search for
+     * @param page the page number (0-based)
+     * @param size the page size
+     * @param sort the sort property: username, createdAt or lastLogin
+     * @param dir the sort direction: asc or desc
      * @param model the model to add attributes to
      * @return the view name
      */
     @GetMapping
-    public String getAllUsers(Model model) {
-        List<User> users = userService.getAllUsers();
-        model.addAttribute("users", users);
+    public String getAllUsers(@RequestParam(required = false) String q,
+                              @RequestParam(defaultValue = "0") int page,
+                              @RequestParam(defaultValue = "20") int size,
+                              @RequestParam(defaultValue = "username") String sort,
+                              @RequestParam(defaultValue = "asc") String dir,
+                              Model model) {
+        String sortProperty = DIRECTORY_SORTS.contains(sort) ? sort : "username";
+        Sort.Direction direction = "desc".equalsIgnoreCase(dir) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        // id breaks ties so pages stay stable when many users share a timestamp
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_DIRECTORY_PAGE_SIZE),
+                Sort.by(direction, sortProperty).and(Sort.by(direction, "id")));
+        Page<UserSummary> users = userService.getUserDirectory(q, pageable);
+
+        model.addAttribute("users", users.getContent());
+        model.addAttribute("currentPage", users.getNumber());
+        model.addAttribute("totalPages", users.getTotalPages());
+        model.addAttribute("totalItems", users.getTotalElements());
+        model.addAttribute("q", q);
+        model.addAttribute("sort", sortProperty);
+        model.addAttribute("dir", direction == Sort.Direction.DESC ? "desc" : "asc");
         return "user/list";
     }
 
@@ -82,7 +121,32 @@ public class UserController {
                 result.rejectValue("username", "error.user", e.getMessage());
             }
             return "user/register";
+        } catch (RejectedExecutionException e) {
+            // Password hashing is saturated; let the user retry instead of failing the request
+            result.rejectValue("password", "error.user", "The server is busy, please try again in a moment.");
+            return "user/register";
+        }
+    }
+
+    /**
+     * Check live whether a username and/or email can still be registered.
+     *
+     * @param username the username to check, optional
+     * @param email the email to check, optional
+     * @return availability of each value that was given
+     */
+    @GetMapping("/availability")
+    @ResponseBody
+    public ResponseEntity<Map<String, Boolean>> checkAvailability(@RequestParam(required = false) String username,
+                                                                  @RequestParam(required = false) String email) {
+        Map<String, Boolean> availability = new LinkedHashMap<>();
+        if (username != null && !username.isEmpty()) {
+            availability.put("username", userService.isUsernameAvailable(username));
         }
+        if (email != null && !email.isEmpty()) {
+            availability.put("email", userService.isEmailAvailable(email));
+        }
+        return ResponseEntity.ok(availability);
     }
 
     /**
@@ -189,9 +253,13 @@ public class UserController {
      * @return the view name
      */
     @GetMapping("/profile")
-    public String showProfile(@AuthenticationPrincipal User user, Model model) {
-        model.addAttribute("user", user);
-        return "user/profile";
+    public String showProfile(@AuthenticationPrincipal AuthenticatedUser user, Model model) {
+        return userService.getUserById(user.getId())
+                .map(profile -> {
+                    model.addAttribute("user", profile);
+                    return "user/profile";
+                })
+                .orElse("redirect:/logout");
     }
 
     /**
@@ -202,9 +270,13 @@ public class UserController {
      * @return the view name
      */
     @GetMapping("/profile/edit")
-    public String showProfileEditForm(@AuthenticationPrincipal User user, Model model) {
-        model.addAttribute("user", user);
-        return "user/profile-edit";
+    public String showProfileEditForm(@AuthenticationPrincipal AuthenticatedUser user, Model model) {
+        return userService.getUserById(user.getId())
+                .map(profile -> {
+                    model.addAttribute("user", profile);
+                    return "user/profile-edit";
+                })
+                .orElse("redirect:/logout");
     }
 
     /**
@@ -217,7 +289,7 @@ public class UserController {
      * @return the redirect URL
      */
     @PostMapping("/profile")
-    public String updateProfile(@AuthenticationPrincipal User user,
+    public String updateProfile(@AuthenticationPrincipal AuthenticatedUser user,
                                 @RequestParam(required = false) String profileImageUrl,
                                 @RequestParam(required = false) String bio,
                                 RedirectAttributes redirectAttributes) {
@@ -239,7 +311,7 @@ public class UserController {
      */
     @PostMapping("/theme")
     @ResponseBody
-    public ResponseEntity<User> updateTheme(@AuthenticationPrincipal User user,
+    public ResponseEntity<User> updateTheme(@AuthenticationPrincipal AuthenticatedUser user,
                                             @RequestParam String themePreference) {
         try {
             User updatedUser = userService.updateThemePreference(user.getId(), themePreference);
@@ -0,0 +1,48 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+/**
+ * A page of a keyset-paginated listing.
+ * Unlike Spring's Page it carries no total count, only cursors to the neighbouring pages.
+ *
+ * @param <T> the element type
+ */
+public class CursorPage<T> {
+
+    private final List<T> content;
+    private final KeysetCursor nextCursor;
+    private final KeysetCursor previousCursor;
+
+    public CursorPage(List<T> content, KeysetCursor nextCursor, KeysetCursor previousCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.previousCursor = previousCursor;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * @return the cursor for the next (older) page, or null if this is the last page
+     */
+    public KeysetCursor getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * @return the cursor for the previous (newer) page, or null if this is the first page
+     */
+    public KeysetCursor getPreviousCursor() {
+        return previousCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean hasPrevious() {
+        return previousCursor != null;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.Board;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the data shown on the home page.
+ */
+public class HomePageSnapshot {
+
+    private final List<Board> boards;
+    private final List<PostSummary> recentPosts;
+    private final List<PostSummary> popularPosts;
+    private final LocalDateTime generatedAt;
+
+    public HomePageSnapshot(List<Board> boards, List<PostSummary> recentPosts, List<PostSummary> popularPosts,
+                            LocalDateTime generatedAt) {
+        this.boards = Collections.unmodifiableList(boards);
+        this.recentPosts = Collections.unmodifiableList(recentPosts);
+        this.popularPosts = Collections.unmodifiableList(popularPosts);
+        this.generatedAt = generatedAt;
+    }
+
+    // Getters
+    public List<Board> getBoards() {
+        return boards;
+    }
+
+    public List<PostSummary> getRecentPosts() {
+        return recentPosts;
+    }
+
+    public List<PostSummary> getPopularPosts() {
+        return popularPosts;
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+}
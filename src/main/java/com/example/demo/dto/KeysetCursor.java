@@ -0,0 +1,75 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+
+/**
+ * Position in a listing ordered by (createdAt DESC, id DESC).
+ * Rendered in URLs as "createdAt,id", e.g. "2024-03-01T12:30:15.123,42".
+ */
+public final class KeysetCursor {
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    public KeysetCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = Objects.requireNonNull(createdAt, "createdAt");
+        this.id = Objects.requireNonNull(id, "id");
+    }
+
+    /**
+     * Parse a cursor from its URL form.
+     *
+     * @param value the cursor string
+     * @return the parsed cursor
+     * @throws IllegalArgumentException if the value is not a valid cursor
+     */
+    public static KeysetCursor parse(String value) {
+        int separator = value != null ? value.lastIndexOf(',') : -1;
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + value);
+        }
+        try {
+            LocalDateTime createdAt = LocalDateTime.parse(value.substring(0, separator));
+            Long id = Long.valueOf(value.substring(separator + 1));
+            return new KeysetCursor(createdAt, id);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + value, e);
+        }
+    }
+
+    // Getters
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof KeysetCursor)) {
+            return false;
+        }
+        KeysetCursor that = (KeysetCursor) o;
+        return createdAt.equals(that.createdAt) && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(createdAt, id);
+    }
+
+    @Override
+    @JsonValue
+    public String toString() {
+        return createdAt + "," + id;
+    }
+}
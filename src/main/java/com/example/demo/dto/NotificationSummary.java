@@ -0,0 +1,69 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.Notification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a notification that is safe to serialize and push to clients.
+ * Does not reference the lazy Notification.user association.
+ */
+public class NotificationSummary {
+
+    private final Long id;
+    private final String type;
+    private final String content;
+    private final String relatedUrl;
+    private final boolean read;
+    private final LocalDateTime createdAt;
+    private final int aggregateCount;
+
+    public NotificationSummary(Long id, String type, String content, String relatedUrl, boolean read,
+                               LocalDateTime createdAt, int aggregateCount) {
+        this.id = id;
+        this.type = type;
+        this.content = content;
+        this.relatedUrl = relatedUrl;
+        this.read = read;
+        this.createdAt = createdAt;
+        this.aggregateCount = aggregateCount;
+    }
+
+    public static NotificationSummary from(Notification notification) {
+        return new NotificationSummary(notification.getId(), notification.getType(), notification.getContent(),
+                notification.getRelatedUrl(), notification.isRead(), notification.getCreatedAt(),
+                notification.getAggregateCount());
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public String getRelatedUrl() {
+        return relatedUrl;
+    }
+
+    public boolean isRead() {
+        return read;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * @return how many similar notifications this one stands for (1 unless repeated ones were collapsed)
+     */
+    public int getAggregateCount() {
+        return aggregateCount;
+    }
+}
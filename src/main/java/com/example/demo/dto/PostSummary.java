@@ -0,0 +1,77 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a post for listing pages.
+ * Carries the board name and author username directly so rendering a list
+ * never touches the lazy Post.board and Post.author associations.
+ */
+public class PostSummary {
+
+    private final Long id;
+    private final String title;
+    private final String excerpt;
+    private final LocalDateTime createdAt;
+    private final int viewCount;
+    private final Long boardId;
+    private final String boardName;
+    private final String authorUsername;
+
+    public PostSummary(Long id, String title, String excerpt, LocalDateTime createdAt, int viewCount,
+                       Long boardId, String boardName, String authorUsername) {
+        this.id = id;
+        this.title = title;
+        this.excerpt = excerpt;
+        this.createdAt = createdAt;
+        this.viewCount = viewCount;
+        this.boardId = boardId;
+        this.boardName = boardName;
+        this.authorUsername = authorUsername;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getExcerpt() {
+        return excerpt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public int getViewCount() {
+        return viewCount;
+    }
+
+    public Long getBoardId() {
+        return boardId;
+    }
+
+    public String getBoardName() {
+        return boardName;
+    }
+
+    public String getAuthorUsername() {
+        return authorUsername;
+    }
+
+    @Override
+    public String toString() {
+        return "PostSummary{" +
+                "id=" + id +
+                ", title='" + title + '\'' +
+                ", createdAt=" + createdAt +
+                ", viewCount=" + viewCount +
+                ", boardName='" + boardName + '\'' +
+                ", authorUsername='" + authorUsername + '\'' +
+                '}';
+    }
+}
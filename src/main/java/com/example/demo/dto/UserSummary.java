@@ -0,0 +1,54 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a user for the user directory.
+ * Holds only the listed columns, never the password hash, profile fields or account flags.
+ */
+public class UserSummary {
+
+    private final Long id;
+    private final String username;
+    private final String email;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime lastLogin;
+
+    public UserSummary(Long id, String username, String email, LocalDateTime createdAt, LocalDateTime lastLogin) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.createdAt = createdAt;
+        this.lastLogin = lastLogin;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getLastLogin() {
+        return lastLogin;
+    }
+
+    @Override
+    public String toString() {
+        return "UserSummary{" +
+                "id=" + id +
+                ", username='" + username + '\'' +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
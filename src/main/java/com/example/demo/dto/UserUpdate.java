@@ -0,0 +1,74 @@
+package com.example.demo.dto;
+
+/**
+ * Partial update of a user for the MyBatis API.
+ * Unlike the User entity, no field has a default value, so a field is null exactly when the
+ * request omitted it and the stored value is kept.
+ */
+public class UserUpdate {
+
+    private String username;
+    private String password;
+    private String email;
+    private String profileImageUrl;
+    private String bio;
+    private String themePreference;
+
+    // Getters and Setters
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getProfileImageUrl() {
+        return profileImageUrl;
+    }
+
+    public void setProfileImageUrl(String profileImageUrl) {
+        this.profileImageUrl = profileImageUrl;
+    }
+
+    public String getBio() {
+        return bio;
+    }
+
+    public void setBio(String bio) {
+        this.bio = bio;
+    }
+
+    public String getThemePreference() {
+        return themePreference;
+    }
+
+    public void setThemePreference(String themePreference) {
+        this.themePreference = themePreference;
+    }
+
+    @Override
+    public String toString() {
+        return "UserUpdate{" +
+                "username='" + username + '\'' +
+                ", email='" + email + '\'' +
+                ", themePreference='" + themePreference + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.demo.event;
+
+/**
+ * Application event published by BoardService when a board is created, updated or deleted.
+ * Listeners that maintain derived data (caches) should react after commit.
+ */
+public class BoardChangedEvent {
+
+    /**
+     * The kind of change that happened to the board.
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long boardId;
+
+    public BoardChangedEvent(Type type, Long boardId) {
+        this.type = type;
+        this.boardId = boardId;
+    }
+
+    // Getters
+    public Type getType() {
+        return type;
+    }
+
+    public Long getBoardId() {
+        return boardId;
+    }
+
+    @Override
+    public String toString() {
+        return "BoardChangedEvent{" +
+                "type=" + type +
+                ", boardId=" + boardId +
+                '}';
+    }
+}
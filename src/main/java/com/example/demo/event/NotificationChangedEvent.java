@@ -0,0 +1,79 @@
+package com.example.demo.event;
+
+import com.example.demo.dto.NotificationSummary;
+
+/**
+ * Application event published by NotificationService when the unread state of a user's
+ * notifications changes. Listeners keep the in-memory unread counters and connected clients
+ * up to date after commit.
+ */
+public class NotificationChangedEvent {
+
+    /**
+     * The kind of change.
+     */
+    public enum Type {
+        /** A new unread notification was created. */
+        CREATED,
+        /** Unread notifications were marked as read or deleted; the count went down by the delta. */
+        UNREAD_REMOVED,
+        /** Every notification of the user is now read. */
+        ALL_READ
+    }
+
+    private final Type type;
+    private final Long userId;
+    private final long count;
+    private final NotificationSummary notification;
+
+    private NotificationChangedEvent(Type type, Long userId, long count, NotificationSummary notification) {
+        this.type = type;
+        this.userId = userId;
+        this.count = count;
+        this.notification = notification;
+    }
+
+    public static NotificationChangedEvent created(Long userId, NotificationSummary notification) {
+        return new NotificationChangedEvent(Type.CREATED, userId, 1, notification);
+    }
+
+    public static NotificationChangedEvent unreadRemoved(Long userId, long count) {
+        return new NotificationChangedEvent(Type.UNREAD_REMOVED, userId, count, null);
+    }
+
+    public static NotificationChangedEvent allRead(Long userId) {
+        return new NotificationChangedEvent(Type.ALL_READ, userId, 0, null);
+    }
+
+    // Getters
+    public Type getType() {
+        return type;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    /**
+     * @return the number of unread notifications added or removed
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the new notification for CREATED events, otherwise null
+     */
+    public NotificationSummary getNotification() {
+        return notification;
+    }
+
+    @Override
+    public String toString() {
+        return "NotificationChangedEvent{" +
+                "type=" + type +
+                ", userId=" + userId +
+                ", count=" + count +
+                '}';
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.demo.event;
+
+/**
+ * Application event published by PostService when a post is created, updated or deleted.
+ * Listeners that maintain derived data (search index, caches) should react after commit.
+ */
+public class PostChangedEvent {
+
+    /**
+     * The kind of change that happened to the post.
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long postId;
+    private final Long boardId;
+    private final String title;
+    private final String content;
+
+    public PostChangedEvent(Type type, Long postId, Long boardId, String title, String content) {
+        this.type = type;
+        this.postId = postId;
+        this.boardId = boardId;
+        this.title = title;
+        this.content = content;
+    }
+
+    public static PostChangedEvent deleted(Long postId, Long boardId) {
+        return new PostChangedEvent(Type.DELETED, postId, boardId, null, null);
+    }
+
+    // Getters
+    public Type getType() {
+        return type;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public Long getBoardId() {
+        return boardId;
+    }
+
+    /**
+     * @return the post title after the change, or null for deletions
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * @return the post content after the change, or null for deletions
+     */
+    public String getContent() {
+        return content;
+    }
+
+    @Override
+    public String toString() {
+        return "PostChangedEvent{" +
+                "type=" + type +
+                ", postId=" + postId +
+                ", boardId=" + boardId +
+                '}';
+    }
+}
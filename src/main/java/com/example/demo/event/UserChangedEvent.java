@@ -0,0 +1,38 @@
+package com.example.demo.event;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Application event published by UserService when a user's account data is updated or the user is deleted.
+ * Carries every username the change affects (both the old and the new one on a rename), so caches keyed
+ * by username can evict after commit.
+ */
+public class UserChangedEvent {
+
+    private final Long userId;
+    private final List<String> usernames;
+
+    public UserChangedEvent(Long userId, String... usernames) {
+        this.userId = userId;
+        this.usernames = Collections.unmodifiableList(Arrays.asList(usernames));
+    }
+
+    // Getters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public List<String> getUsernames() {
+        return usernames;
+    }
+
+    @Override
+    public String toString() {
+        return "UserChangedEvent{" +
+                "userId=" + userId +
+                ", usernames=" + usernames +
+                '}';
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.demo.mapper;
 
+import com.example.demo.dto.UserUpdate;
 import com.example.demo.model.User;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +24,15 @@ public interface UserMapper {
      */
     List<User> findAll();
     
+    /**
+     * Stream all users in ID order without loading them into a list.
+     * The password column is not selected. The cursor must be consumed and closed
+     * inside the transaction that opened it.
+     * 
+     * @return a cursor over all users
+     */
+    Cursor<User> streamAll();
+    
     /**
      * Find a user by ID.
      * 
@@ -29,6 +41,14 @@ public interface UserMapper {
      */
     User findById(@Param("id") Long id);
     
+    /**
+     * Find users by ID with a single IN query.
+     * 
+     * @param ids the user IDs, must not be empty
+     * @return the users found, in no particular order
+     */
+    List<User> findByIds(@Param("ids") Collection<Long> ids);
+    
     /**
      * Find a user by username.
      * 
@@ -54,13 +74,31 @@ public interface UserMapper {
     int insert(User user);
     
     /**
-     * Update an existing user.
+     * Insert several users with one multi-row INSERT.
+     * Generated IDs are set on the given users.
+     * 
+     * @param users the users to insert, must not be empty
+     * @return the number of rows affected
+     */
+    int insertBatch(@Param("users") List<User> users);
+    
+    /**
+     * Update an existing user. The last login time is left alone; only LastLoginTracker writes it.
      * 
      * @param user the user to update
      * @return the number of rows affected
      */
     int update(User user);
     
+    /**
+     * Update only the non-null fields of an existing user.
+     * 
+     * @param id the ID of the user to update
+     * @param changes the fields to write; null fields are left unchanged
+     * @return the number of rows affected
+     */
+    int updateSelective(@Param("id") Long id, @Param("changes") UserUpdate changes);
+    
     /**
      * Delete a user by ID.
      * 
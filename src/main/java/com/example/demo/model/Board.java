@@ -13,7 +13,8 @@ import java.util.List;
 public class Board {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "boards_seq")
+    @SequenceGenerator(name = "boards_seq", sequenceName = "boards_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -25,6 +26,10 @@ public class Board {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
+    // Maintained by PostService through BoardRepository.adjustPostCount, never written by entity updates
+    @Column(name = "post_count", nullable = false, updatable = false)
+    private long postCount = 0;
+
     @OneToMany(mappedBy = "board", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Post> posts = new ArrayList<>();
 
@@ -71,6 +76,14 @@ public class Board {
         this.createdAt = createdAt;
     }
 
+    public long getPostCount() {
+        return postCount;
+    }
+
+    public void setPostCount(long postCount) {
+        this.postCount = postCount;
+    }
+
     public List<Post> getPosts() {
         return posts;
     }
@@ -98,6 +111,7 @@ public class Board {
                 ", name='" + name + '\'' +
                 ", description='" + description + '\'' +
                 ", createdAt=" + createdAt +
+                ", postCount=" + postCount +
                 '}';
     }
 }
@@ -8,11 +8,19 @@ import java.time.LocalDateTime;
  * Used to notify users about new posts, comments, etc.
  */
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        // Unread inbox: WHERE user_id = ? AND is_read = ? ORDER BY created_at
+        @Index(name = "idx_notifications_user_read_created_at", columnList = "user_id, is_read, created_at"),
+        // Full inbox: WHERE user_id = ? ORDER BY created_at, id
+        @Index(name = "idx_notifications_user_created_at_id", columnList = "user_id, created_at, id"),
+        // Retention: WHERE is_read = TRUE AND created_at < ? across all users
+        @Index(name = "idx_notifications_read_created_at", columnList = "is_read, created_at")
+})
 public class Notification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq")
+    @SequenceGenerator(name = "notifications_seq", sequenceName = "notifications_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -34,6 +42,10 @@ public class Notification {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
+    /** Number of notifications this row stands for after repeated ones were collapsed. */
+    @Column(name = "aggregate_count", nullable = false)
+    private int aggregateCount = 1;
+
     // Default constructor required by JPA
     public Notification() {
     }
@@ -103,6 +115,14 @@ public class Notification {
         this.createdAt = createdAt;
     }
 
+    public int getAggregateCount() {
+        return aggregateCount;
+    }
+
+    public void setAggregateCount(int aggregateCount) {
+        this.aggregateCount = aggregateCount;
+    }
+
     @Override
     public String toString() {
         return "Notification{" +
@@ -113,6 +133,7 @@ public class Notification {
                 ", relatedUrl='" + relatedUrl + '\'' +
                 ", isRead=" + isRead +
                 ", createdAt=" + createdAt +
+                ", aggregateCount=" + aggregateCount +
                 '}';
     }
 }
\ No newline at end of file
@@ -7,19 +7,37 @@ import java.time.LocalDateTime;
  * Entity representing a post on a bulletin board.
  */
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        // Keyset pagination: seek by (created_at, id) overall and within a board
+        @Index(name = "idx_posts_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_posts_board_created_at_id", columnList = "board_id, created_at, id")
+})
 public class Post {
 
+    /**
+     * Stored excerpt length: one character more than listings show, so they can tell a
+     * truncated post apart from a post of exactly that length and add an ellipsis.
+     */
+    public static final int EXCERPT_LENGTH = 201;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "posts_seq")
+    @SequenceGenerator(name = "posts_seq", sequenceName = "posts_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 200)
     private String title;
 
+    // Only loaded when accessed (requires the Hibernate bytecode enhancement in build.gradle);
+    // listings read the excerpt column instead
+    @Basic(fetch = FetchType.LAZY)
     @Column(nullable = false, columnDefinition = "TEXT")
     private String content;
 
+    // Kept in sync with content by setContent; null only for rows not yet backfilled
+    @Column(name = "excerpt", length = EXCERPT_LENGTH)
+    private String excerpt;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -34,7 +52,8 @@ public class Post {
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
 
-    @Column(name = "view_count", nullable = false)
+    // Written only by ViewCountBuffer's batched increments, so entity updates never overwrite pending views
+    @Column(name = "view_count", nullable = false, updatable = false)
     private int viewCount = 0;
 
     // Default constructor required by JPA
@@ -43,7 +62,7 @@ public class Post {
 
     public Post(String title, String content, Board board, User author) {
         this.title = title;
-        this.content = content;
+        setContent(content);
         this.board = board;
         this.author = author;
         this.createdAt = LocalDateTime.now();
@@ -72,6 +91,25 @@ public class Post {
 
     public void setContent(String content) {
         this.content = content;
+        this.excerpt = excerptOf(content);
+    }
+
+    public String getExcerpt() {
+        return excerpt;
+    }
+
+    /**
+     * Cut content down to the stored excerpt length without splitting a surrogate pair.
+     *
+     * @param content the post content, may be null
+     * @return the excerpt, or null for null content
+     */
+    public static String excerptOf(String content) {
+        if (content == null || content.length() <= EXCERPT_LENGTH) {
+            return content;
+        }
+        int end = Character.isHighSurrogate(content.charAt(EXCERPT_LENGTH - 1)) ? EXCERPT_LENGTH - 1 : EXCERPT_LENGTH;
+        return content.substring(0, end);
     }
 
     public LocalDateTime getCreatedAt() {
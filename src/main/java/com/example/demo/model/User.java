@@ -17,26 +17,39 @@ import org.springframework.security.core.userdetails.UserDetails;
  * Implements UserDetails for Spring Security integration.
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        // Named so a violation can be mapped back to the field that caused it
+        @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"),
+        @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email")
+}, indexes = {
+        // Sort orders of the user directory; username and email are covered by their unique indexes
+        @Index(name = "idx_users_created_at", columnList = "created_at"),
+        @Index(name = "idx_users_last_login", columnList = "last_login")
+})
 public class User implements UserDetails {
 
+    public static final String USERNAME_CONSTRAINT = "uk_users_username";
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 50)
+    @Column(nullable = false, length = 50)
     private String username;
 
     @Column(nullable = false)
     private String password;
 
-    @Column(nullable = false, unique = true, length = 100)
+    @Column(nullable = false, length = 100)
     private String email;
 
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
-    @Column(name = "last_login")
+    // Written only by LastLoginTracker's batched updates, so saving a stale entity never overwrites a flushed login
+    @Column(name = "last_login", updatable = false)
     private LocalDateTime lastLogin;
 
     @Column(nullable = false)
@@ -2,6 +2,9 @@ package com.example.demo.repository;
 
 import com.example.demo.model.Board;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -27,4 +30,42 @@ public interface BoardRepository extends JpaRepository<Board, Long> {
      * @return true if a board with the name exists, false otherwise
      */
     boolean existsByName(String name);
-}
\ No newline at end of file
+
+    /**
+     * Atomically adjust the denormalized post count of a board.
+     *
+     * @param id the board ID
+     * @param delta the amount to add (negative to subtract)
+     * @return the number of rows affected
+     */
+    @Modifying
+    @Query(value = "UPDATE boards SET post_count = post_count + :delta WHERE id = :id", nativeQuery = true)
+    int adjustPostCount(@Param("id") Long id, @Param("delta") long delta);
+
+    /**
+     * Recompute the post count of every board whose stored count has drifted from the posts table.
+     *
+     * @return the number of boards corrected
+     */
+    @Modifying
+    @Query(value = "UPDATE boards b SET post_count = (SELECT COUNT(*) FROM posts p WHERE p.board_id = b.id) "
+            + "WHERE post_count <> (SELECT COUNT(*) FROM posts p WHERE p.board_id = b.id)", nativeQuery = true)
+    int reconcilePostCounts();
+
+    /**
+     * Get the denormalized post count of a board.
+     *
+     * @param id the board ID
+     * @return the stored post count, or empty if the board does not exist
+     */
+    @Query("SELECT b.postCount FROM Board b WHERE b.id = :id")
+    Optional<Long> findPostCountById(@Param("id") Long id);
+
+    /**
+     * Get the total number of posts from the denormalized board counts.
+     *
+     * @return the sum of all board post counts
+     */
+    @Query("SELECT COALESCE(SUM(b.postCount), 0) FROM Board b")
+    long sumPostCounts();
+}
@@ -1,10 +1,17 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.NotificationSummary;
 import com.example.demo.model.Notification;
 import com.example.demo.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -12,6 +19,12 @@ import java.util.List;
  */
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    /**
+     * Select clause shared by the inbox queries.
+     */
+    String SUMMARY_SELECT = "SELECT new com.example.demo.dto.NotificationSummary("
+            + "n.id, n.type, n.content, n.relatedUrl, n.isRead, n.createdAt, n.aggregateCount) FROM Notification n";
     
     /**
      * Find all notifications for a specific user, ordered by creation date (newest first).
@@ -38,4 +51,97 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
      * @return count of unread notifications
      */
     long countByUserAndIsRead(User user, boolean isRead);
-}
\ No newline at end of file
+
+    /**
+     * Count the notifications of a user with the given read state, by user ID.
+     *
+     * @param userId the ID of the user to count notifications for
+     * @param isRead whether the notification has been read
+     * @return count of matching notifications
+     */
+    long countByUserIdAndIsRead(Long userId, boolean isRead);
+
+    /**
+     * Mark every unread notification of a user as read in a single statement.
+     * Pending changes are flushed first and the persistence context is cleared afterwards,
+     * so entities loaded later in the same transaction see the new state.
+     *
+     * @param userId the ID of the user whose notifications to mark as read
+     * @return the number of notifications marked as read
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.id = :userId AND n.isRead = false")
+    int markAllAsReadByUserId(@Param("userId") Long userId);
+
+    /**
+     * Delete every read notification of a user in a single statement.
+     *
+     * @param userId the ID of the user whose read notifications to delete
+     * @return the number of notifications deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Notification n WHERE n.user.id = :userId AND n.isRead = true")
+    int deleteReadByUserId(@Param("userId") Long userId);
+
+    /**
+     * Find the newest notifications of a user without a count query.
+     * Served by the (user_id, created_at, id) index.
+     *
+     * @param userId the user ID
+     * @param pageable the page size (the page number should be 0)
+     * @return a slice of notifications ordered by (createdAt, id) descending
+     */
+    @Query(SUMMARY_SELECT + " WHERE n.user.id = :userId ORDER BY n.createdAt DESC, n.id DESC")
+    Slice<NotificationSummary> findLatestByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Seek to the notifications of a user that come after a cursor in (createdAt, id) descending order.
+     * The redundant createdAt bound lets the user's (created_at, id) index seek to the cursor.
+     *
+     * @param userId the user ID
+     * @param createdAt the cursor creation time
+     * @param id the cursor notification ID
+     * @param pageable the page size (the page number should be 0)
+     * @return a slice of older notifications ordered by (createdAt, id) descending
+     */
+    @Query(SUMMARY_SELECT + " WHERE n.user.id = :userId"
+            + " AND n.createdAt <= :createdAt"
+            + " AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id))"
+            + " ORDER BY n.createdAt DESC, n.id DESC")
+    Slice<NotificationSummary> findByUserIdOlderThan(@Param("userId") Long userId,
+                                                     @Param("createdAt") LocalDateTime createdAt,
+                                                     @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Find the newest notifications of a user with the given read state without a count query.
+     * Served by the (user_id, is_read, created_at) index.
+     *
+     * @param userId the user ID
+     * @param isRead whether the notifications have been read
+     * @param pageable the page size (the page number should be 0)
+     * @return a slice of notifications ordered by (createdAt, id) descending
+     */
+    @Query(SUMMARY_SELECT + " WHERE n.user.id = :userId AND n.isRead = :isRead"
+            + " ORDER BY n.createdAt DESC, n.id DESC")
+    Slice<NotificationSummary> findLatestByUserIdAndIsRead(@Param("userId") Long userId,
+                                                           @Param("isRead") boolean isRead, Pageable pageable);
+
+    /**
+     * Seek to the notifications of a user with the given read state that come after a cursor.
+     *
+     * @param userId the user ID
+     * @param isRead whether the notifications have been read
+     * @param createdAt the cursor creation time
+     * @param id the cursor notification ID
+     * @param pageable the page size (the page number should be 0)
+     * @return a slice of older notifications ordered by (createdAt, id) descending
+     */
+    @Query(SUMMARY_SELECT + " WHERE n.user.id = :userId AND n.isRead = :isRead"
+            + " AND n.createdAt <= :createdAt"
+            + " AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id))"
+            + " ORDER BY n.createdAt DESC, n.id DESC")
+    Slice<NotificationSummary> findByUserIdAndIsReadOlderThan(@Param("userId") Long userId,
+                                                              @Param("isRead") boolean isRead,
+                                                              @Param("createdAt") LocalDateTime createdAt,
+                                                              @Param("id") Long id, Pageable pageable);
+}
@@ -1,14 +1,20 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.PostSummary;
 import com.example.demo.model.Board;
 import com.example.demo.model.Post;
 import com.example.demo.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -16,6 +22,36 @@ import java.util.List;
  */
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
+
+    /**
+     * Select clause shared by the listing queries. Board and author are joined in the same
+     * statement and only the stored excerpt is read; the content is only touched for rows
+     * the excerpt backfill has not reached yet.
+     */
+    String SUMMARY_SELECT = "SELECT new com.example.demo.dto.PostSummary("
+            + "p.id, p.title, COALESCE(p.excerpt, SUBSTRING(p.content, 1, 201)), p.createdAt, p.viewCount, "
+            + "b.id, b.name, a.username) "
+            + "FROM Post p JOIN p.board b JOIN p.author a";
+
+    /**
+     * Find all posts with pagination, fetching board and author in the same query.
+     *
+     * @param pageable pagination information
+     * @return a page of posts
+     */
+    @Override
+    @EntityGraph(attributePaths = {"board", "author"})
+    Page<Post> findAll(Pageable pageable);
+
+    /**
+     * Find one page of posts without running a count query.
+     * Used when the total is served from {@link com.example.demo.service.PostCountCache}.
+     *
+     * @param pageable pagination information
+     * @return the posts of the requested page
+     */
+    @EntityGraph(attributePaths = {"board", "author"})
+    List<Post> findAllBy(Pageable pageable);
     
     /**
      * Find all posts belonging to a specific board.
@@ -32,7 +68,18 @@ public interface PostRepository extends JpaRepository<Post, Long> {
      * @param pageable pagination information
      * @return a page of posts
      */
+    @EntityGraph(attributePaths = {"board", "author"})
     Page<Post> findByBoard(Board board, Pageable pageable);
+
+    /**
+     * Find one page of a board's posts without running a count query.
+     *
+     * @param board the board to find posts for
+     * @param pageable pagination information
+     * @return the posts of the requested page
+     */
+    @EntityGraph(attributePaths = {"board", "author"})
+    List<Post> findAllByBoard(Board board, Pageable pageable);
     
     /**
      * Find all posts by a specific author.
@@ -84,5 +131,148 @@ public interface PostRepository extends JpaRepository<Post, Long> {
      * @param pageable pagination information
      * @return a page of posts
      */
+    @EntityGraph(attributePaths = {"board", "author"})
     Page<Post> findAllByOrderByViewCountDesc(Pageable pageable);
+
+    /**
+     * Find one page of summaries of all posts.
+     * Runs exactly one select regardless of the page size; the total comes from the count cache.
+     *
+     * @param pageable pagination information
+     * @return the post summaries of the requested page
+     */
+    @Query(SUMMARY_SELECT)
+    List<PostSummary> findSummaries(Pageable pageable);
+
+    /**
+     * Find one page of summaries of the posts belonging to a specific board.
+     *
+     * @param boardId the ID of the board to find posts for
+     * @param pageable pagination information
+     * @return the post summaries of the requested page
+     */
+    @Query(SUMMARY_SELECT + " WHERE b.id = :boardId")
+    List<PostSummary> findSummariesByBoardId(@Param("boardId") Long boardId, Pageable pageable);
+
+    /**
+     * Find summaries of the most viewed posts.
+     *
+     * @param pageable pagination information
+     * @return the post summaries ordered by view count descending
+     */
+    @Query(SUMMARY_SELECT + " ORDER BY p.viewCount DESC")
+    List<PostSummary> findMostViewedSummaries(Pageable pageable);
+
+    /**
+     * Find summaries of the most viewed posts of a board.
+     *
+     * @param boardId the board ID
+     * @param pageable pagination information
+     * @return the post summaries ordered by view count descending
+     */
+    @Query(SUMMARY_SELECT + " WHERE b.id = :boardId ORDER BY p.viewCount DESC")
+    List<PostSummary> findMostViewedSummariesByBoardId(@Param("boardId") Long boardId, Pageable pageable);
+
+    /**
+     * Find summaries of the posts with the given IDs, in no particular order.
+     *
+     * @param ids the post IDs
+     * @return the post summaries that exist
+     */
+    @Query(SUMMARY_SELECT + " WHERE p.id IN :ids")
+    List<PostSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the newest post summaries without a count query.
+     *
+     * @param pageable the page size (the page number should be 0)
+     * @return a slice of summaries ordered by (createdAt, id) descending
+     */
+    @Query(SUMMARY_SELECT + " ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PostSummary> findLatestSummaries(Pageable pageable);
+
+    /**
+     * Seek to the post summaries that come after a cursor in (createdAt, id) descending order.
+     * The redundant createdAt bound lets the (created_at, id) index seek to the cursor;
+     * the OR alone would make it scan from the top of the index.
+     *
+     * @param createdAt the cursor creation time
+     * @param id the cursor post ID
+     * @param pageable the page size (the page number should be 0)
+     * @return a slice of older summaries ordered by (createdAt, id) descending
+     */
+    @Query(SUMMARY_SELECT + " WHERE p.createdAt <= :createdAt"
+            + " AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id))"
+            + " ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PostSummary> findSummariesOlderThan(@Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Seek to the post summaries that come before a cursor in (createdAt, id) descending order.
+     * Bounded on createdAt like {@link #findSummariesOlderThan}, so the index can seek.
+     *
+     * @param createdAt the cursor creation time
+     * @param id the cursor post ID
+     * @param pageable the page size (the page number should be 0)
+     * @return a slice of newer summaries ordered by (createdAt, id) ascending, nearest first
+     */
+    @Query(SUMMARY_SELECT + " WHERE p.createdAt >= :createdAt"
+            + " AND (p.createdAt > :createdAt OR (p.createdAt = :createdAt AND p.id > :id))"
+            + " ORDER BY p.createdAt ASC, p.id ASC")
+    Slice<PostSummary> findSummariesNewerThan(@Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Find the newest post summaries of a board without a count query.
+     *
+     * @param boardId the board ID
+     * @param pageable the page size (the page number should be 0)
+     * @return a slice of summaries ordered by (createdAt, id) descending
+     */
+    @Query(SUMMARY_SELECT + " WHERE b.id = :boardId ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PostSummary> findLatestSummariesByBoardId(@Param("boardId") Long boardId, Pageable pageable);
+
+    /**
+     * Seek to the post summaries of a board that come after a cursor in (createdAt, id) descending order.
+     * Served by the (board_id, created_at, id) index.
+     *
+     * @param boardId the board ID
+     * @param createdAt the cursor creation time
+     * @param id the cursor post ID
+     * @param pageable the page size (the page number should be 0)
+     * @return a slice of older summaries ordered by (createdAt, id) descending
+     */
+    @Query(SUMMARY_SELECT + " WHERE b.id = :boardId AND p.createdAt <= :createdAt"
+            + " AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id))"
+            + " ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PostSummary> findSummariesByBoardIdOlderThan(@Param("boardId") Long boardId,
+                                                       @Param("createdAt") LocalDateTime createdAt,
+                                                       @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Seek to the post summaries of a board that come before a cursor in (createdAt, id) descending order.
+     *
+     * @param boardId the board ID
+     * @param createdAt the cursor creation time
+     * @param id the cursor post ID
+     * @param pageable the page size (the page number should be 0)
+     * @return a slice of newer summaries ordered by (createdAt, id) ascending, nearest first
+     */
+    @Query(SUMMARY_SELECT + " WHERE b.id = :boardId AND p.createdAt >= :createdAt"
+            + " AND (p.createdAt > :createdAt OR (p.createdAt = :createdAt AND p.id > :id))"
+            + " ORDER BY p.createdAt ASC, p.id ASC")
+    Slice<PostSummary> findSummariesByBoardIdNewerThan(@Param("boardId") Long boardId,
+                                                       @Param("createdAt") LocalDateTime createdAt,
+                                                       @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Find the ID, title and content of posts after a given ID, ordered by ID.
+     * Used to walk the whole table in batches without OFFSET scans.
+     *
+     * @param afterId only posts with a greater ID are returned
+     * @param pageable the batch size
+     * @return rows of [id, board ID, title, content]
+     */
+    @Query("SELECT p.id, p.board.id, p.title, p.content FROM Post p WHERE p.id > :afterId ORDER BY p.id")
+    List<Object[]> findIndexableAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
\ No newline at end of file
@@ -1,9 +1,15 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.UserSummary;
 import com.example.demo.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -11,6 +17,12 @@ import java.util.Optional;
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    /**
+     * Constructor projection used by the user directory; selects only the listed columns.
+     */
+    String SUMMARY_SELECT = "SELECT new com.example.demo.dto.UserSummary("
+            + "u.id, u.username, u.email, u.createdAt, u.lastLogin) FROM User u";
     
     /**
      * Find a user by username.
@@ -43,4 +55,57 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true if a user with the email exists, false otherwise
      */
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Find the users, other than the given one, that already hold a username or an email.
+     * Replaces separate exists checks for both values with a single query.
+     *
+     * @param username the username to check
+     * @param email the email to check
+     * @param excludeId the ID of the user being updated, or null when registering
+     * @return summaries of the conflicting users (at most two)
+     */
+    @Query(SUMMARY_SELECT + " WHERE (u.username = :username OR u.email = :email)"
+            + " AND (:excludeId IS NULL OR u.id <> :excludeId)")
+    List<UserSummary> findConflicts(@Param("username") String username, @Param("email") String email,
+                                    @Param("excludeId") Long excludeId);
+
+    /**
+     * Find one page of user summaries.
+     *
+     * @param pageable pagination and sorting information
+     * @return a page of user summaries
+     */
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserSummary> findSummaries(Pageable pageable);
+
+    /**
+     * Find one page of summaries of the users whose username falls in a range,
+     * i.e. starts with a prefix when called with (prefix, prefix + '\uffff').
+     * A range predicate on a single column lets the lookup seek the unique username index,
+     * which neither a LIKE with a bound pattern nor an OR across two columns guarantees.
+     *
+     * @param from the inclusive lower bound (the prefix)
+     * @param to the exclusive upper bound
+     * @param pageable pagination and sorting information
+     * @return a page of matching user summaries
+     */
+    @Query(value = SUMMARY_SELECT + " WHERE u.username >= :from AND u.username < :to",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE u.username >= :from AND u.username < :to")
+    Page<UserSummary> findSummariesByUsernameInRange(@Param("from") String from, @Param("to") String to,
+                                                     Pageable pageable);
+
+    /**
+     * Find one page of summaries of the users whose email falls in a range, served by the
+     * unique email index like {@link #findSummariesByUsernameInRange}.
+     *
+     * @param from the inclusive lower bound (the prefix)
+     * @param to the exclusive upper bound
+     * @param pageable pagination and sorting information
+     * @return a page of matching user summaries
+     */
+    @Query(value = SUMMARY_SELECT + " WHERE u.email >= :from AND u.email < :to",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE u.email >= :from AND u.email < :to")
+    Page<UserSummary> findSummariesByEmailInRange(@Param("from") String from, @Param("to") String to,
+                                                  Pageable pageable);
+}
@@ -0,0 +1,100 @@
+package com.example.demo.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Tokenizer for post titles and content.
+ * Hangul, Han and Kana runs are split into overlapping bigrams, which matches Korean words
+ * regardless of the particles and endings attached to them ("게시판에서" contains "게시", "시판").
+ * Runs of other letters and digits become lower-cased words.
+ */
+public final class NgramTokenizer {
+
+    private NgramTokenizer() {
+    }
+
+    /**
+     * Split text into index terms.
+     *
+     * @param text the text to tokenize, may be null
+     * @return the terms in order of appearance, including duplicates
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        int length = normalized.length();
+        int i = 0;
+        while (i < length) {
+            int codePoint = normalized.codePointAt(i);
+            if (isCjk(codePoint)) {
+                i = emitBigrams(normalized, i, tokens);
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                i = emitWord(normalized, i, tokens);
+            } else {
+                i += Character.charCount(codePoint);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Check whether a term is a single CJK character, which only occurs when a query
+     * (or a document) has a one-character Hangul/Han/Kana run.
+     *
+     * @param term the term to check
+     * @return true if the term is exactly one CJK code point
+     */
+    public static boolean isSingleCjkCharacter(String term) {
+        return term.codePointCount(0, term.length()) == 1 && isCjk(term.codePointAt(0));
+    }
+
+    private static int emitBigrams(String text, int start, List<String> tokens) {
+        List<String> characters = new ArrayList<>();
+        int i = start;
+        while (i < text.length()) {
+            int codePoint = text.codePointAt(i);
+            if (!isCjk(codePoint)) {
+                break;
+            }
+            characters.add(new String(Character.toChars(codePoint)));
+            i += Character.charCount(codePoint);
+        }
+
+        if (characters.size() == 1) {
+            tokens.add(characters.get(0));
+        } else {
+            for (int j = 0; j + 1 < characters.size(); j++) {
+                tokens.add(characters.get(j) + characters.get(j + 1));
+            }
+        }
+        return i;
+    }
+
+    private static int emitWord(String text, int start, List<String> tokens) {
+        int i = start;
+        while (i < text.length()) {
+            int codePoint = text.codePointAt(i);
+            if (isCjk(codePoint) || !Character.isLetterOrDigit(codePoint)) {
+                break;
+            }
+            i += Character.charCount(codePoint);
+        }
+        tokens.add(text.substring(start, i));
+        return i;
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HANGUL
+                || script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA;
+    }
+}
@@ -0,0 +1,359 @@
+package com.example.demo.search;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over post titles and content.
+ * Each term maps to the posts containing it with a title-boosted term frequency.
+ * Queries are conjunctive (every query term must match) and ranked with BM25.
+ * While a bulk rebuild runs, removed posts and boards are remembered so rows the rebuild
+ * read before the removal cannot be added back.
+ */
+@Component
+public class PostSearchIndex {
+
+    /** Title terms count this many times more than content terms. */
+    private static final int TITLE_BOOST = 3;
+
+    // BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /** Higher score first; ties go to the newer post. */
+    private static final Comparator<ScoredPost> BEST_FIRST = (a, b) -> {
+        int byScore = Double.compare(b.score, a.score);
+        return byScore != 0 ? byScore : Long.compare(b.postId, a.postId);
+    };
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** term -> (post ID -> weighted term frequency); sorted so single characters can be prefix-expanded. */
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+
+    /** post ID -> indexed document, kept so a post can be removed or re-indexed. */
+    private final Map<Long, IndexedDocument> documents = new HashMap<>();
+
+    private long totalLength = 0;
+
+    // Non-null only while a rebuild is running
+    private Set<Long> postsRemovedDuringRebuild;
+    private Set<Long> boardsRemovedDuringRebuild;
+
+    /**
+     * Add or replace a post in the index.
+     *
+     * @param postId the post ID
+     * @param boardId the ID of the board the post belongs to
+     * @param title the post title
+     * @param content the post content
+     */
+    public void index(Long postId, Long boardId, String title, String content) {
+        Map<String, Integer> frequencies = termFrequencies(title, content);
+        lock.writeLock().lock();
+        try {
+            removeInternal(postId);
+            addInternal(postId, boardId, frequencies);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add a post only if it is not indexed yet and was not removed since the rebuild started.
+     * Used by the bulk rebuild so it never overwrites a newer version indexed from a change event
+     * or brings back a post deleted after the rebuild read it.
+     *
+     * @param postId the post ID
+     * @param boardId the ID of the board the post belongs to
+     * @param title the post title
+     * @param content the post content
+     */
+    public void indexIfAbsent(Long postId, Long boardId, String title, String content) {
+        Map<String, Integer> frequencies = termFrequencies(title, content);
+        lock.writeLock().lock();
+        try {
+            boolean removed = postsRemovedDuringRebuild != null
+                    && (postsRemovedDuringRebuild.contains(postId) || boardsRemovedDuringRebuild.contains(boardId));
+            if (!removed && !documents.containsKey(postId)) {
+                addInternal(postId, boardId, frequencies);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a post from the index.
+     *
+     * @param postId the post ID
+     */
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(postId);
+            if (postsRemovedDuringRebuild != null) {
+                postsRemovedDuringRebuild.add(postId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove every post of a board from the index.
+     *
+     * @param boardId the board ID
+     * @return the number of posts removed
+     */
+    public int removeBoard(Long boardId) {
+        lock.writeLock().lock();
+        try {
+            List<Long> postIds = new ArrayList<>();
+            for (Map.Entry<Long, IndexedDocument> entry : documents.entrySet()) {
+                if (boardId.equals(entry.getValue().boardId)) {
+                    postIds.add(entry.getKey());
+                }
+            }
+            for (Long postId : postIds) {
+                removeInternal(postId);
+            }
+            if (boardsRemovedDuringRebuild != null) {
+                boardsRemovedDuringRebuild.add(boardId);
+            }
+            return postIds.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Start remembering removals, so {@link #indexIfAbsent} skips posts removed while a rebuild runs.
+     */
+    public void startRebuild() {
+        lock.writeLock().lock();
+        try {
+            postsRemovedDuringRebuild = new HashSet<>();
+            boardsRemovedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stop remembering removals once the rebuild has read every row.
+     */
+    public void finishRebuild() {
+        lock.writeLock().lock();
+        try {
+            postsRemovedDuringRebuild = null;
+            boardsRemovedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove every post from the index.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Get the number of indexed posts.
+     *
+     * @return the document count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search the index.
+     *
+     * @param query the search query
+     * @param pageable pagination information (sorting is ignored, hits are ordered by relevance)
+     * @return a page of matching post IDs, best match first
+     */
+    public Page<Long> search(String query, Pageable pageable) {
+        Set<String> terms = new LinkedHashSet<>(NgramTokenizer.tokenize(query));
+        if (terms.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        // Only the hits up to the end of the requested page are ranked
+        int limit = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), Integer.MAX_VALUE);
+        PriorityQueue<ScoredPost> best = new PriorityQueue<>(BEST_FIRST.reversed());
+        int total;
+        lock.readLock().lock();
+        try {
+            total = score(terms, best, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<ScoredPost> top = new ArrayList<>(best);
+        top.sort(BEST_FIRST);
+        int from = (int) Math.min(pageable.getOffset(), top.size());
+        List<Long> pageIds = new ArrayList<>(top.size() - from);
+        for (ScoredPost hit : top.subList(from, top.size())) {
+            pageIds.add(hit.postId);
+        }
+        return new PageImpl<>(pageIds, pageable, total);
+    }
+
+    /**
+     * Score every post matching all terms, keeping the best {@code limit} of them in a heap
+     * whose head is the worst hit kept, so ranking costs O(n log limit) instead of a full sort.
+     *
+     * @return the number of matching posts
+     */
+    private int score(Set<String> terms, PriorityQueue<ScoredPost> best, int limit) {
+        List<Map<Long, Integer>> termPostings = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Map<Long, Integer> matches = lookup(term);
+            if (matches.isEmpty()) {
+                // Conjunctive query: one missing term means no hits
+                return 0;
+            }
+            termPostings.add(matches);
+        }
+
+        // Intersect starting from the rarest term
+        termPostings.sort((a, b) -> Integer.compare(a.size(), b.size()));
+        int documentCount = documents.size();
+        double averageLength = documentCount == 0 ? 1.0 : (double) totalLength / documentCount;
+
+        int total = 0;
+        candidates:
+        for (Long postId : termPostings.get(0).keySet()) {
+            double score = 0;
+            int length = documents.get(postId).length;
+            for (Map<Long, Integer> matches : termPostings) {
+                Integer frequency = matches.get(postId);
+                if (frequency == null) {
+                    continue candidates;
+                }
+                double idf = Math.log(1 + (documentCount - matches.size() + 0.5) / (matches.size() + 0.5));
+                double norm = frequency + K1 * (1 - B + B * length / averageLength);
+                score += idf * (frequency * (K1 + 1)) / norm;
+            }
+            total++;
+            ScoredPost hit = new ScoredPost(postId, score);
+            if (best.size() < limit) {
+                best.add(hit);
+            } else if (BEST_FIRST.compare(hit, best.peek()) < 0) {
+                best.poll();
+                best.add(hit);
+            }
+        }
+        return total;
+    }
+
+    private Map<Long, Integer> lookup(String term) {
+        if (!NgramTokenizer.isSingleCjkCharacter(term)) {
+            Map<Long, Integer> matches = postings.get(term);
+            return matches != null ? matches : Collections.emptyMap();
+        }
+
+        // A one-character Korean query matches every bigram starting with that character
+        Map<Long, Integer> merged = new HashMap<>();
+        NavigableMap<String, Map<Long, Integer>> expansion = postings.subMap(term, true, term + Character.MAX_VALUE, true);
+        for (Map<Long, Integer> matches : expansion.values()) {
+            for (Map.Entry<Long, Integer> entry : matches.entrySet()) {
+                merged.merge(entry.getKey(), entry.getValue(), Integer::sum);
+            }
+        }
+        return merged;
+    }
+
+    private void addInternal(Long postId, Long boardId, Map<String, Integer> frequencies) {
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(postId, entry.getValue());
+            length += entry.getValue();
+        }
+        documents.put(postId, new IndexedDocument(boardId, frequencies.keySet(), length));
+        totalLength += length;
+    }
+
+    private void removeInternal(Long postId) {
+        IndexedDocument document = documents.remove(postId);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms) {
+            Map<Long, Integer> matches = postings.get(term);
+            if (matches != null) {
+                matches.remove(postId);
+                if (matches.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= document.length;
+    }
+
+    private static Map<String, Integer> termFrequencies(String title, String content) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : NgramTokenizer.tokenize(title)) {
+            frequencies.merge(term, TITLE_BOOST, Integer::sum);
+        }
+        for (String term : NgramTokenizer.tokenize(content)) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    private static final class IndexedDocument {
+        private final Long boardId;
+        private final Set<String> terms;
+        private final int length;
+
+        private IndexedDocument(Long boardId, Set<String> terms, int length) {
+            this.boardId = boardId;
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+
+    private static final class ScoredPost {
+        private final Long postId;
+        private final double score;
+
+        private ScoredPost(Long postId, double score) {
+            this.postId = postId;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.demo.search;
+
+import com.example.demo.event.BoardChangedEvent;
+import com.example.demo.event.PostChangedEvent;
+import com.example.demo.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Keeps the PostSearchIndex in sync with the posts table.
+ * The index is built from the database once the application is ready and then
+ * updated from PostChangedEvents after each transaction commits. A deleted board removes
+ * its posts, which the database deletes by cascade without a PostChangedEvent each.
+ */
+@Component
+public class PostSearchIndexer {
+
+    private static final Logger log = LoggerFactory.getLogger(PostSearchIndexer.class);
+
+    private final PostSearchIndex postSearchIndex;
+    private final PostRepository postRepository;
+    private final int rebuildBatchSize;
+
+    @Autowired
+    public PostSearchIndexer(PostSearchIndex postSearchIndex,
+                             PostRepository postRepository,
+                             @Value("${board.search.rebuild-batch-size:500}") int rebuildBatchSize) {
+        this.postSearchIndex = postSearchIndex;
+        this.postRepository = postRepository;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    /**
+     * Load every existing post into the index, walking the table by ID in batches.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        long lastId = 0L;
+        int indexed = 0;
+        // Deletions committed while the rows are read must not be undone by indexIfAbsent
+        postSearchIndex.startRebuild();
+        try {
+            while (true) {
+                List<Object[]> rows = postRepository.findIndexableAfter(lastId, PageRequest.of(0, rebuildBatchSize));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                for (Object[] row : rows) {
+                    lastId = (Long) row[0];
+                    postSearchIndex.indexIfAbsent(lastId, (Long) row[1], (String) row[2], (String) row[3]);
+                }
+                indexed += rows.size();
+            }
+        } finally {
+            postSearchIndex.finishRebuild();
+        }
+        log.info("Indexed {} post(s) for search in {} ms", indexed, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Apply a committed post change to the index.
+     *
+     * @param event the post change
+     */
+    @TransactionalEventListener
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getType() == PostChangedEvent.Type.DELETED) {
+            postSearchIndex.remove(event.getPostId());
+        } else {
+            postSearchIndex.index(event.getPostId(), event.getBoardId(), event.getTitle(), event.getContent());
+        }
+    }
+
+    /**
+     * Drop the posts of a deleted board from the index.
+     *
+     * @param event the board change
+     */
+    @TransactionalEventListener
+    public void onBoardChanged(BoardChangedEvent event) {
+        if (event.getType() == BoardChangedEvent.Type.DELETED) {
+            postSearchIndex.removeBoard(event.getBoardId());
+        }
+    }
+}
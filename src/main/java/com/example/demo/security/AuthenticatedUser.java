@@ -0,0 +1,135 @@
+package com.example.demo.security;
+
+import com.example.demo.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable security principal.
+ * Holds only what authentication and authorization need, so caches and HTTP sessions do not
+ * keep whole User entities (bio, profile URL, lazy associations) alive. The password hash is
+ * only present on the copy used to check credentials; the principal stored in the session has none.
+ */
+public final class AuthenticatedUser implements UserDetails, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String username;
+    private final String password;
+    private final List<GrantedAuthority> authorities;
+    private final boolean accountNonExpired;
+    private final boolean accountNonLocked;
+    private final boolean credentialsNonExpired;
+    private final boolean enabled;
+
+    private AuthenticatedUser(Long id, String username, String password, List<GrantedAuthority> authorities,
+                              boolean accountNonExpired, boolean accountNonLocked,
+                              boolean credentialsNonExpired, boolean enabled) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.authorities = authorities;
+        this.accountNonExpired = accountNonExpired;
+        this.accountNonLocked = accountNonLocked;
+        this.credentialsNonExpired = credentialsNonExpired;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Create a principal from a user entity, including the password hash.
+     *
+     * @param user the user entity
+     * @return the principal
+     */
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getPassword(),
+                Collections.singletonList(new SimpleGrantedAuthority(user.getRole())),
+                user.isAccountNonExpired(), user.isAccountNonLocked(),
+                user.isCredentialsNonExpired(), user.isEnabled());
+    }
+
+    /**
+     * Copy this principal without the password hash, for storing in the security context.
+     *
+     * @return the principal without credentials
+     */
+    public AuthenticatedUser withoutPassword() {
+        return new AuthenticatedUser(id, username, null, authorities,
+                accountNonExpired, accountNonLocked, credentialsNonExpired, enabled);
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return accountNonExpired;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return accountNonLocked;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return credentialsNonExpired;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Principals are compared by username, e.g. by session concurrency control
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AuthenticatedUser)) {
+            return false;
+        }
+        return username.equals(((AuthenticatedUser) o).username);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(username);
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser{" +
+                "id=" + id +
+                ", username='" + username + '\'' +
+                ", authorities=" + authorities +
+                ", enabled=" + enabled +
+                '}';
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.security;
+
+import com.example.demo.event.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Bounded, time-evicting Spring Security {@link UserCache} keyed by username.
+ * Lets the authentication provider skip the user lookup on repeated logins; entries are
+ * evicted as soon as a change to the user is committed.
+ */
+@Component
+public class CaffeineUserCache implements UserCache {
+
+    private final Cache<String, UserDetails> users;
+
+    @Autowired
+    public CaffeineUserCache(MeterRegistry meterRegistry,
+                             @Value("${board.security.user-cache.ttl:5m}") Duration ttl,
+                             @Value("${board.security.user-cache.max-size:10000}") long maxSize) {
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "userDetails");
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        return users.getIfPresent(username);
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        users.put(user.getUsername(), user);
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        users.invalidate(username);
+    }
+
+    /**
+     * Evict the cached entries of a user once a change to it is committed.
+     *
+     * @param event the user change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        users.invalidateAll(event.getUsernames());
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.demo.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt password encoder that runs every hash on a dedicated, CPU-sized thread pool.
+ * The pool has a bounded queue and rejects work immediately once it is full, so a login storm
+ * cannot pin every request thread on BCrypt; callers get a {@link RejectedExecutionException}
+ * instead. The work factor is configured, or benchmarked once on startup against a target latency
+ * when the strength is set to 0, and hashes with a lower work factor are reported as needing an
+ * upgrade, which lets the authentication provider rehash them on the next successful login.
+ */
+@Component
+public class PasswordHashingService implements PasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    // BCrypt limits on the log2 work factor
+    private static final int MIN_BCRYPT_STRENGTH = 4;
+    private static final int MAX_BCRYPT_STRENGTH = 31;
+
+    private static final String BENCHMARK_PASSWORD = "benchmark-password";
+
+    private final BCryptPasswordEncoder encoder;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+
+    private Timer hashTimer;
+    private Counter rejected;
+
+    @Autowired
+    public PasswordHashingService(MeterRegistry meterRegistry,
+                                  @Value("${board.security.hashing.threads:0}") int threads,
+                                  @Value("${board.security.hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${board.security.bcrypt.strength:10}") int strength,
+                                  @Value("${board.security.bcrypt.target-latency:250ms}") Duration targetLatency,
+                                  @Value("${board.security.bcrypt.min-strength:10}") int minStrength,
+                                  @Value("${board.security.bcrypt.max-strength:14}") int maxStrength) {
+        this(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), queueCapacity,
+                strength > 0 ? strength : benchmarkStrength(targetLatency, minStrength, maxStrength));
+        Gauge.builder("board.security.hashing.queue.depth", executor.getQueue(), BlockingQueue::size)
+                .description("Password hashes waiting for a hashing thread")
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("board.security.hashing")
+                .description("Time taken to compute one password hash, excluding queueing")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("board.security.hashing.rejected")
+                .description("Password hashes rejected because the hashing queue was full")
+                .register(meterRegistry);
+        log.info("Hashing passwords with BCrypt strength {} on {} thread(s)", this.strength,
+                executor.getMaximumPoolSize());
+    }
+
+    PasswordHashingService(int threads, int queueCapacity, int strength) {
+        if (strength < MIN_BCRYPT_STRENGTH || strength > MAX_BCRYPT_STRENGTH) {
+            throw new IllegalArgumentException("BCrypt strength must be between " + MIN_BCRYPT_STRENGTH
+                    + " and " + MAX_BCRYPT_STRENGTH + ": " + strength);
+        }
+        this.strength = strength;
+        this.encoder = new BCryptPasswordEncoder(strength);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Stop the hashing threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Get the work factor new hashes are created with.
+     *
+     * @return the log2 BCrypt work factor
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * Hash a password on the hashing pool.
+     *
+     * @param rawPassword the password to hash
+     * @return the BCrypt hash
+     * @throws RejectedExecutionException if the hashing queue is full
+     */
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * Check a password against a stored hash on the hashing pool.
+     * Hashes created with any work factor are verified.
+     *
+     * @param rawPassword the presented password
+     * @param encodedPassword the stored hash
+     * @return true if the password matches
+     * @throws RejectedExecutionException if the hashing queue is full
+     */
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Check whether a stored hash was created with a lower work factor than the current one.
+     * Stronger hashes are kept, so a lower configured or benchmarked strength never weakens them.
+     *
+     * @param encodedPassword the stored hash
+     * @return true if the password should be hashed again
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int stored = strengthOf(encodedPassword);
+        return stored > 0 && stored < strength;
+    }
+
+    /**
+     * Read the work factor from a BCrypt hash such as {@code $2a$10$...}.
+     *
+     * @param encodedPassword the hash
+     * @return the work factor, or -1 if the value is not a BCrypt hash
+     */
+    static int strengthOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$'
+                || encodedPassword.charAt(3) != '$' || encodedPassword.charAt(6) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Pick the highest work factor whose hash time stays within the target latency.
+     * One hash is timed at the minimum strength and extrapolated, since every extra
+     * step doubles the work. The result depends on the load at startup, so it is logged
+     * for operators to pin as the configured strength.
+     */
+    static int benchmarkStrength(Duration targetLatency, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        // Warm up once so class loading and JIT do not count
+        probe.encode(BENCHMARK_PASSWORD);
+        long start = System.nanoTime();
+        probe.encode(BENCHMARK_PASSWORD);
+        long elapsed = Math.max(1, System.nanoTime() - start);
+
+        int chosen = minStrength;
+        long estimate = elapsed;
+        while (chosen < maxStrength && estimate * 2 <= targetLatency.toNanos()) {
+            estimate *= 2;
+            chosen++;
+        }
+        log.info("BCrypt strength {} took {} ms; using strength {} for a {} ms target "
+                        + "(set board.security.bcrypt.strength={} to pin it)", minStrength,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), chosen, targetLatency.toMillis(), chosen);
+        return chosen;
+    }
+
+    private <T> T submit(Callable<T> hash) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> hashTimer != null ? hashTimer.recordCallable(hash) : hash.call());
+        } catch (RejectedExecutionException e) {
+            if (rejected != null) {
+                rejected.increment();
+            }
+            throw new RejectedExecutionException("Password hashing is at capacity, try again later", e);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a password hash", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.demo.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * DAO authentication provider that stores a password-less copy of the principal in the
+ * successful Authentication. The cached principal keeps its hash for later credential checks,
+ * while the session only holds the slim {@link AuthenticatedUser}.
+ * Also rehashes the password after a successful login when the encoder asks for it, and turns a
+ * saturated hashing pool into an ordinary authentication failure.
+ */
+public class SlimPrincipalAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(SlimPrincipalAuthenticationProvider.class);
+
+    private UserDetailsPasswordService passwordUpdater;
+
+    /**
+     * Set the service used to store rehashed passwords. Unlike
+     * {@link #setUserDetailsPasswordService}, a rehash that cannot be scheduled is skipped
+     * instead of failing the login.
+     *
+     * @param passwordUpdater the service that stores the new hash
+     */
+    public void setPasswordUpdater(UserDetailsPasswordService passwordUpdater) {
+        this.passwordUpdater = passwordUpdater;
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails,
+                                                  UsernamePasswordAuthenticationToken authentication) {
+        try {
+            super.additionalAuthenticationChecks(userDetails, authentication);
+        } catch (RejectedExecutionException e) {
+            throw new AuthenticationServiceException("Too many logins in progress, please try again", e);
+        }
+    }
+
+    @Override
+    protected Authentication createSuccessAuthentication(Object principal, Authentication authentication,
+                                                         UserDetails user) {
+        UserDetails current = user;
+        if (passwordUpdater != null && getPasswordEncoder().upgradeEncoding(user.getPassword())) {
+            try {
+                String newPassword = getPasswordEncoder().encode(authentication.getCredentials().toString());
+                current = passwordUpdater.updatePassword(user, newPassword);
+            } catch (RejectedExecutionException e) {
+                // The old hash still works; try again on a later login
+                log.debug("Skipping password rehash for {}: hashing pool is busy", user.getUsername());
+            }
+        }
+        Object slimPrincipal = principal instanceof AuthenticatedUser
+                ? ((AuthenticatedUser) principal).withoutPassword()
+                : principal;
+        return super.createSuccessAuthentication(slimPrincipal, authentication, current);
+    }
+}
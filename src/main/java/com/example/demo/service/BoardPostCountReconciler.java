@@ -0,0 +1,40 @@
+package com.example.demo.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled job that repairs drift in the denormalized board post counts.
+ * Counts are normally kept exact by PostService, so this only corrects rows changed
+ * outside the application (manual SQL, bulk imports, etc.).
+ */
+@Component
+public class BoardPostCountReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(BoardPostCountReconciler.class);
+
+    private final BoardService boardService;
+    private final PostCountCache postCountCache;
+
+    @Autowired
+    public BoardPostCountReconciler(BoardService boardService, PostCountCache postCountCache) {
+        this.boardService = boardService;
+        this.postCountCache = postCountCache;
+    }
+
+    /**
+     * Recompute drifted post counts.
+     */
+    @Scheduled(cron = "${board.post-count.reconcile-cron:0 0 4 * * *}")
+    public void reconcile() {
+        int corrected = boardService.reconcilePostCounts();
+        if (corrected > 0) {
+            log.info("Reconciled post counts for {} board(s)", corrected);
+            // The corrections are committed, so cached (and possibly approximate) totals can be recounted
+            postCountCache.invalidateAll();
+        }
+    }
+}
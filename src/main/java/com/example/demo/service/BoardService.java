@@ -1,8 +1,10 @@
 package com.example.demo.service;
 
+import com.example.demo.event.BoardChangedEvent;
 import com.example.demo.model.Board;
 import com.example.demo.repository.BoardRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,10 +18,12 @@ import java.util.Optional;
 public class BoardService {
 
     private final BoardRepository boardRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public BoardService(BoardRepository boardRepository) {
+    public BoardService(BoardRepository boardRepository, ApplicationEventPublisher eventPublisher) {
         this.boardRepository = boardRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -66,7 +70,9 @@ public class BoardService {
         if (boardRepository.existsByName(board.getName())) {
             throw new IllegalArgumentException("A board with name '" + board.getName() + "' already exists");
         }
-        return boardRepository.save(board);
+        Board savedBoard = boardRepository.save(board);
+        eventPublisher.publishEvent(new BoardChangedEvent(BoardChangedEvent.Type.CREATED, savedBoard.getId()));
+        return savedBoard;
     }
 
     /**
@@ -91,7 +97,9 @@ public class BoardService {
         board.setName(boardDetails.getName());
         board.setDescription(boardDetails.getDescription());
 
-        return boardRepository.save(board);
+        Board savedBoard = boardRepository.save(board);
+        eventPublisher.publishEvent(new BoardChangedEvent(BoardChangedEvent.Type.UPDATED, id));
+        return savedBoard;
     }
 
     /**
@@ -106,5 +114,16 @@ public class BoardService {
             throw new IllegalArgumentException("Board not found with id: " + id);
         }
         boardRepository.deleteById(id);
+        eventPublisher.publishEvent(new BoardChangedEvent(BoardChangedEvent.Type.DELETED, id));
+    }
+
+    /**
+     * Correct any board whose denormalized post count has drifted from the posts table.
+     *
+     * @return the number of boards corrected
+     */
+    @Transactional
+    public int reconcilePostCounts() {
+        return boardRepository.reconcilePostCounts();
     }
 }
\ No newline at end of file
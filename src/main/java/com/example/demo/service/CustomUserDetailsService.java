@@ -1,9 +1,13 @@
 package com.example.demo.service;
 
+import com.example.demo.event.UserChangedEvent;
 import com.example.demo.model.User;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.security.AuthenticatedUser;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -11,19 +15,24 @@ import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Custom implementation of UserDetailsService to load user-specific data for Spring Security.
+ * Also stores passwords rehashed on login with a different work factor.
  */
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Loads a user by username for authentication.
+     * Returns a slim {@link AuthenticatedUser} rather than the entity, so the result can be
+     * cached and kept in sessions without holding on to the whole User.
      *
      * @param username the username to load
      * @return the UserDetails object
@@ -34,8 +43,26 @@ public class CustomUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
-        
-        // Since our User class implements UserDetails, we can return it directly
-        return user;
+        return AuthenticatedUser.from(user);
     }
-}
\ No newline at end of file
+
+    /**
+     * Store a rehashed password for a user after a successful login.
+     *
+     * @param user the authenticated user
+     * @param newPassword the new password hash
+     * @return the user with the new hash
+     * @throws UsernameNotFoundException if the user no longer exists
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = userRepository.findByUsername(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + user.getUsername()));
+        entity.setPassword(newPassword);
+        User saved = userRepository.save(entity);
+        // Cached principals still hold the old hash
+        eventPublisher.publishEvent(new UserChangedEvent(saved.getId(), saved.getUsername()));
+        return AuthenticatedUser.from(saved);
+    }
+}
@@ -0,0 +1,338 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Post;
+import com.example.demo.search.PostSearchIndexer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Bulk loader of a synthetic dataset for load tests and benchmarks.
+ * When {@code board.dataset.enabled=true} it runs once at startup, before the application reports
+ * ready, so startup jobs such as the search index build see the data.
+ * <p>
+ * Rows are written with JDBC batches on a single connection, committing once per batch. Board and
+ * author choices follow a Zipf distribution, view counts a Pareto one, and text mixes Korean and
+ * English words with varied lengths. Everything is drawn from one seeded {@link Random}, so the same
+ * settings produce the same data. IDs come from the entity sequences, so the application can keep
+ * inserting afterwards.
+ */
+@Component
+public class DatasetGenerator implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    /** English words used in generated titles and content. */
+    public static final List<String> ENGLISH_WORDS = Collections.unmodifiableList(Arrays.asList(
+            "spring", "jpa", "mybatis", "cache", "index", "batch", "query", "thread", "latency", "release",
+            "review", "deploy", "schema", "cursor", "stream", "profile", "memory", "socket", "login", "board"));
+
+    /** Korean words used in generated titles and content. */
+    public static final List<String> KOREAN_WORDS = Collections.unmodifiableList(Arrays.asList(
+            "게시판", "질문", "답변", "공지", "후기", "개발", "서버", "데이터", "성능", "배포",
+            "오류", "해결", "추천", "정리", "공유", "프로젝트", "스터디", "모임", "여행", "음식"));
+
+    /** Password of every generated user. */
+    public static final String PASSWORD = "password123";
+
+    private static final long YEAR_NANOS = 365L * 24 * 60 * 60 * 1_000_000_000L;
+
+    private static final String[] NOTIFICATION_TYPES = {"NEW_POST", "NEW_COMMENT", "MENTION", "SYSTEM"};
+
+    private static final String INSERT_BOARD_SQL = "INSERT INTO boards (id, name, description, created_at, post_count) "
+            + "VALUES (NEXT VALUE FOR boards_seq, ?, ?, ?, 0)";
+    private static final String INSERT_USER_SQL = "INSERT INTO users (id, username, password, email, created_at, "
+            + "last_login, role, enabled, account_non_expired, account_non_locked, credentials_non_expired, "
+            + "theme_preference) VALUES (NEXT VALUE FOR users_seq, ?, ?, ?, ?, ?, 'ROLE_USER', TRUE, TRUE, TRUE, TRUE, ?)";
+    private static final String INSERT_POST_SQL = "INSERT INTO posts (id, title, content, excerpt, created_at, "
+            + "view_count, board_id, author_id) VALUES (NEXT VALUE FOR posts_seq, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_NOTIFICATION_SQL = "INSERT INTO notifications (id, user_id, type, content, "
+            + "related_url, is_read, created_at, aggregate_count) "
+            + "VALUES (NEXT VALUE FOR notifications_seq, ?, ?, ?, ?, ?, ?, 1)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final BoardService boardService;
+    private final PostCountCache postCountCache;
+    private final UserAvailabilityFilter availabilityFilter;
+    private final PostSearchIndexer postSearchIndexer;
+
+    private final boolean enabled;
+    private final int boards;
+    private final int users;
+    private final int posts;
+    private final int notifications;
+    private final long seed;
+    private final double skew;
+    private final int batchSize;
+
+    private volatile boolean ready;
+
+    @Autowired
+    public DatasetGenerator(JdbcTemplate jdbcTemplate,
+                            PasswordEncoder passwordEncoder,
+                            BoardService boardService,
+                            PostCountCache postCountCache,
+                            UserAvailabilityFilter availabilityFilter,
+                            PostSearchIndexer postSearchIndexer,
+                            @Value("${board.dataset.enabled:false}") boolean enabled,
+                            @Value("${board.dataset.boards:100}") int boards,
+                            @Value("${board.dataset.users:200000}") int users,
+                            @Value("${board.dataset.posts:1000000}") int posts,
+                            @Value("${board.dataset.notifications:500000}") int notifications,
+                            @Value("${board.dataset.seed:42}") long seed,
+                            @Value("${board.dataset.skew:1.1}") double skew,
+                            @Value("${board.dataset.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.boardService = boardService;
+        this.postCountCache = postCountCache;
+        this.availabilityFilter = availabilityFilter;
+        this.postSearchIndexer = postSearchIndexer;
+        this.enabled = enabled;
+        this.boards = boards;
+        this.users = users;
+        this.posts = posts;
+        this.notifications = notifications;
+        this.seed = seed;
+        this.skew = skew;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Note that the application is ready; loads from now on rebuild the in-memory indexes themselves.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void markReady() {
+        ready = true;
+    }
+
+    /**
+     * Load the configured dataset at startup if generation is enabled.
+     *
+     * @param args the application arguments
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            generate(boards, users, posts, notifications, seed);
+        }
+    }
+
+    /**
+     * Load a dataset of the given size, added to whatever the tables already contain.
+     * Generated usernames include the seed, so loading into the same database twice needs different seeds.
+     *
+     * @param boardCount the number of boards
+     * @param userCount the number of users
+     * @param postCount the number of posts
+     * @param notificationCount the number of notifications
+     * @param randomSeed the seed all generated values are drawn from
+     * @return the number of rows written
+     * @throws IllegalArgumentException if there would be posts without boards or users
+     */
+    public long generate(int boardCount, int userCount, int postCount, int notificationCount, long randomSeed) {
+        if ((postCount > 0 && (boardCount <= 0 || userCount <= 0)) || (notificationCount > 0 && userCount <= 0)) {
+            throw new IllegalArgumentException("Posts need boards and users, and notifications need users");
+        }
+        Random random = new Random(randomSeed);
+        LocalDateTime start = LocalDateTime.now().minusDays(365).withNano(0);
+        long startNanos = System.nanoTime();
+
+        long boardBase = load("boards", INSERT_BOARD_SQL, boardCount, (ps, i) -> {
+            ps.setString(1, "Board " + i + " " + word(random, 0.5));
+            ps.setString(2, sentence(random, 3 + random.nextInt(10)));
+            ps.setTimestamp(3, Timestamp.valueOf(start));
+        });
+        long[] boardIds = latestIds("boards", boardCount, boardBase);
+
+        // Hashed once: generated users all share a password, and bcrypt per row would dominate the load.
+        // The configured encoder is used so first logins are not rehashed to a higher work factor.
+        String password = passwordEncoder.encode(PASSWORD);
+        long userBase = load("users", INSERT_USER_SQL, userCount, (ps, i) -> {
+            LocalDateTime createdAt = start.plusSeconds(i * 31_536_000L / Math.max(1, userCount));
+            ps.setString(1, "user" + randomSeed + "_" + i);
+            ps.setString(2, password);
+            ps.setString(3, "user" + randomSeed + "_" + i + "@example.com");
+            ps.setTimestamp(4, Timestamp.valueOf(createdAt));
+            LocalDateTime lastLogin = createdAt.plusHours(random.nextInt(24 * 30));
+            ps.setTimestamp(5, random.nextInt(4) == 0 ? null : Timestamp.valueOf(lastLogin));
+            ps.setString(6, random.nextInt(5) == 0 ? "dark" : "light");
+        });
+        long[] userIds = latestIds("users", userCount, userBase);
+
+        ZipfSampler boardSampler = new ZipfSampler(boardCount, skew, random);
+        ZipfSampler authorSampler = new ZipfSampler(userCount, skew, random);
+        long postBase = load("posts", INSERT_POST_SQL, postCount, (ps, i) -> {
+            String content = sentence(random, contentWords(random));
+            ps.setString(1, sentence(random, 2 + random.nextInt(9)));
+            ps.setString(2, content);
+            ps.setString(3, Post.excerptOf(content));
+            // Spread over the year in insertion order, like real posts
+            ps.setTimestamp(4, Timestamp.valueOf(start.plusNanos(i * (YEAR_NANOS / Math.max(1, postCount)))));
+            ps.setInt(5, viewCount(random));
+            ps.setLong(6, boardIds[boardSampler.next()]);
+            ps.setLong(7, userIds[authorSampler.next()]);
+        });
+        long[] postIds = latestIds("posts", postCount, postBase);
+
+        ZipfSampler recipientSampler = new ZipfSampler(userCount, skew, random);
+        load("notifications", INSERT_NOTIFICATION_SQL, notificationCount, (ps, i) -> {
+            ps.setLong(1, userIds[recipientSampler.next()]);
+            ps.setString(2, NOTIFICATION_TYPES[random.nextInt(NOTIFICATION_TYPES.length)]);
+            ps.setString(3, sentence(random, 3 + random.nextInt(8)));
+            ps.setString(4, postIds.length == 0 ? null : "/posts/" + postIds[random.nextInt(postIds.length)]);
+            ps.setBoolean(5, random.nextInt(10) < 7);
+            ps.setTimestamp(6, Timestamp.valueOf(start.plusSeconds(random.nextInt(31_536_000))));
+        });
+
+        // The rows were written behind PostService's back, so recount and drop cached totals
+        boardService.reconcilePostCounts();
+        postCountCache.invalidateAll();
+        // Both in-memory indexes are built when the application is ready and then only follow
+        // service events, so a load after that has to rebuild them to see the generated rows
+        if (ready) {
+            availabilityFilter.rebuild();
+            postSearchIndexer.rebuild();
+        }
+
+        long rows = (long) boardCount + userCount + postCount + notificationCount;
+        long millis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+        log.info("Generated {} rows in {} ms ({} rows/s)", rows, millis, rows * 1000 / millis);
+        return rows;
+    }
+
+    /**
+     * Binds the parameters of one generated row.
+     */
+    @FunctionalInterface
+    private interface RowWriter {
+        void bind(PreparedStatement ps, int index) throws SQLException;
+    }
+
+    // Inserts the rows in JDBC batches, one transaction per batch; returns the highest ID before the load
+    private long load(String table, String sql, int rows, RowWriter writer) {
+        Long before = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        long startNanos = System.nanoTime();
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                for (int i = 0; i < rows; i++) {
+                    writer.bind(ps, i);
+                    ps.addBatch();
+                    if ((i + 1) % batchSize == 0 || i == rows - 1) {
+                        ps.executeBatch();
+                        connection.commit();
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+        if (rows > 0) {
+            long millis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+            log.info("Loaded {} {} in {} ms ({} rows/s)", rows, table, millis, rows * 1000L / millis);
+        }
+        return before != null ? before : 0;
+    }
+
+    // IDs of the rows just loaded, in insertion order
+    private long[] latestIds(String table, int rows, long afterId) {
+        long[] ids = jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE id > ? ORDER BY id",
+                Long.class, afterId).stream().mapToLong(Long::longValue).toArray();
+        if (ids.length != rows) {
+            throw new IllegalStateException("Expected " + rows + " new rows in " + table + " but found " + ids.length);
+        }
+        return ids;
+    }
+
+    // Mostly short posts with a long tail of long ones
+    private static int contentWords(Random random) {
+        return (int) Math.min(2000, 5 + Math.exp(3.5 + random.nextGaussian()));
+    }
+
+    // Pareto distributed: most posts get a few views, a handful get very many
+    private static int viewCount(Random random) {
+        return (int) Math.min(1_000_000, Math.pow(1 - random.nextDouble(), -1 / 1.2) - 1);
+    }
+
+    private static String sentence(Random random, int words) {
+        // Each text leans Korean or English, with words of the other language mixed in
+        double koreanShare = random.nextBoolean() ? 0.8 : 0.2;
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(i % 12 == 0 ? ". " : " ");
+            }
+            text.append(word(random, koreanShare));
+        }
+        return text.toString();
+    }
+
+    private static String word(Random random, double koreanShare) {
+        List<String> words = random.nextDouble() < koreanShare ? KOREAN_WORDS : ENGLISH_WORDS;
+        return words.get(random.nextInt(words.size()));
+    }
+
+    /**
+     * Samples indexes 0..n-1 with Zipf probabilities (index k has weight 1 / (k + 1)^s).
+     * The ranks are shuffled, so the most frequent boards and users are not simply the first rows.
+     */
+    static final class ZipfSampler {
+        private final double[] cumulative;
+        private final int[] rankToIndex;
+        private final Random random;
+
+        ZipfSampler(int n, double exponent, Random random) {
+            this.random = random;
+            this.cumulative = new double[n];
+            double sum = 0;
+            for (int k = 0; k < n; k++) {
+                sum += 1 / Math.pow(k + 1, exponent);
+                cumulative[k] = sum;
+            }
+            for (int k = 0; k < n; k++) {
+                cumulative[k] /= sum;
+            }
+            this.rankToIndex = new int[n];
+            for (int k = 0; k < n; k++) {
+                rankToIndex[k] = k;
+            }
+            for (int k = n - 1; k > 0; k--) {
+                int j = random.nextInt(k + 1);
+                int swap = rankToIndex[k];
+                rankToIndex[k] = rankToIndex[j];
+                rankToIndex[j] = swap;
+            }
+        }
+
+        int next() {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+            rank = rank >= 0 ? rank : Math.min(-rank - 1, cumulative.length - 1);
+            return rankToIndex[rank];
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.HomePageSnapshot;
+import com.example.demo.event.BoardChangedEvent;
+import com.example.demo.event.PostChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cache of the home page model.
+ * Requests are served from an immutable snapshot that is rebuilt in the background on a short
+ * interval and shortly after any post or board change, so home page traffic does not query the
+ * database. A change leaves the previous snapshot in place until the rebuild finishes.
+ */
+@Component
+public class HomePageCache {
+
+    private static final Logger log = LoggerFactory.getLogger(HomePageCache.class);
+
+    /** Number of posts shown in each home page section. */
+    public static final int SECTION_SIZE = 5;
+
+    private final BoardService boardService;
+    private final PostService postService;
+    private final TaskScheduler taskScheduler;
+    private final long invalidationDelayMs;
+
+    private final AtomicReference<HomePageSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    private final Object refreshLock = new Object();
+
+    private final Timer refreshTimer;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public HomePageCache(BoardService boardService,
+                         PostService postService,
+                         TaskScheduler taskScheduler,
+                         MeterRegistry meterRegistry,
+                         @Value("${board.home-cache.invalidation-delay-ms:500}") long invalidationDelayMs) {
+        this.boardService = boardService;
+        this.postService = postService;
+        this.taskScheduler = taskScheduler;
+        this.invalidationDelayMs = invalidationDelayMs;
+
+        this.refreshTimer = Timer.builder("board.home_cache.refresh")
+                .description("Time taken to rebuild the home page snapshot")
+                .register(meterRegistry);
+        this.hits = Counter.builder("board.home_cache.requests")
+                .tag("result", "hit")
+                .description("Home page requests served from the cached snapshot")
+                .register(meterRegistry);
+        this.misses = Counter.builder("board.home_cache.requests")
+                .tag("result", "miss")
+                .description("Home page requests that had to build the snapshot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the current home page snapshot, building it on the calling thread only if none exists yet.
+     *
+     * @return the home page snapshot
+     */
+    public HomePageSnapshot get() {
+        HomePageSnapshot current = snapshot.get();
+        if (current != null) {
+            hits.increment();
+            return current;
+        }
+        misses.increment();
+        return refresh();
+    }
+
+    /**
+     * Rebuild the snapshot from the database.
+     * Runs on a fixed delay so view counts and other changes without events are picked up.
+     *
+     * @return the new snapshot
+     */
+    @Scheduled(fixedDelayString = "${board.home-cache.refresh-interval-ms:10000}")
+    public HomePageSnapshot refresh() {
+        synchronized (refreshLock) {
+            HomePageSnapshot rebuilt = refreshTimer.record(() -> new HomePageSnapshot(
+                    boardService.getAllBoards(),
+                    postService.getPostSummariesByCursor(null, null, SECTION_SIZE).getContent(),
+                    postService.getPopularPostSummaries(SECTION_SIZE),
+                    LocalDateTime.now()));
+            snapshot.set(rebuilt);
+            return rebuilt;
+        }
+    }
+
+    /**
+     * Rebuild the snapshot after a committed post change.
+     *
+     * @param event the post change
+     */
+    @TransactionalEventListener
+    public void onPostChanged(PostChangedEvent event) {
+        scheduleRefresh();
+    }
+
+    /**
+     * Rebuild the snapshot after a committed board change.
+     *
+     * @param event the board change
+     */
+    @TransactionalEventListener
+    public void onBoardChanged(BoardChangedEvent event) {
+        scheduleRefresh();
+    }
+
+    private void scheduleRefresh() {
+        // Changes arriving before the pending rebuild starts are coalesced into it
+        if (!refreshScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        taskScheduler.schedule(() -> {
+            refreshScheduled.set(false);
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                log.warn("Failed to rebuild the home page snapshot, keeping the previous one", e);
+            }
+        }, Instant.now().plusMillis(invalidationDelayMs));
+    }
+}
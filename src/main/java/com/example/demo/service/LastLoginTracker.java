@@ -0,0 +1,195 @@
+package com.example.demo.service;
+
+import com.example.demo.security.AuthenticatedUser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for users.last_login.
+ * Successful logins only record a timestamp in memory; repeated logins of the same user between
+ * flushes collapse into the latest one. A periodic flush writes all pending timestamps with one
+ * {@code UPDATE ... SET last_login = CASE id ... END} statement per chunk, so a login never waits
+ * for a database write.
+ */
+@Component
+public class LastLoginTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(LastLoginTracker.class);
+
+    private final ConcurrentHashMap<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final Timer flushTimer;
+    private final Counter flushedLogins;
+    private final Counter failedFlushes;
+
+    @Autowired
+    public LastLoginTracker(JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${board.last-login.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+
+        Gauge.builder("board.last_login.pending", pending, Map::size)
+                .description("Users with a login timestamp waiting to be flushed")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("board.last_login.flush")
+                .description("Time taken to write buffered login timestamps")
+                .register(meterRegistry);
+        this.flushedLogins = Counter.builder("board.last_login.flushed")
+                .description("Login timestamps written to the database")
+                .register(meterRegistry);
+        this.failedFlushes = Counter.builder("board.last_login.flush.failures")
+                .description("Flushes that failed and were re-queued")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record a successful login of our own principal type.
+     *
+     * @param event the authentication success
+     */
+    @EventListener
+    public void onAuthenticationSuccess(AuthenticationSuccessEvent event) {
+        Object principal = event.getAuthentication().getPrincipal();
+        if (principal instanceof AuthenticatedUser) {
+            record(((AuthenticatedUser) principal).getId());
+        }
+    }
+
+    /**
+     * Record that a user logged in now.
+     *
+     * @param userId the user ID
+     */
+    public void record(Long userId) {
+        record(userId, LocalDateTime.now());
+    }
+
+    /**
+     * Record a login time for a user. Only the latest pending time per user is kept.
+     *
+     * @param userId the user ID
+     * @param loginAt the login time
+     */
+    public void record(Long userId, LocalDateTime loginAt) {
+        pending.merge(userId, loginAt, LastLoginTracker::latest);
+    }
+
+    /**
+     * Get the login time recorded for a user that has not been flushed yet.
+     *
+     * @param userId the user ID
+     * @return the pending login time, or null if there is none
+     */
+    public LocalDateTime getPendingLogin(Long userId) {
+        return pending.get(userId);
+    }
+
+    /**
+     * Write all pending login times to the database.
+     * Runs on a fixed delay, so a login time stays in memory for at most the flush interval.
+     */
+    @Scheduled(fixedDelayString = "${board.last-login.flush-interval-ms:10000}")
+    public void flush() {
+        synchronized (flushLock) {
+            List<Map.Entry<Long, LocalDateTime>> logins = drain();
+            if (logins.isEmpty()) {
+                return;
+            }
+
+            try {
+                flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+                    for (int from = 0; from < logins.size(); from += batchSize) {
+                        List<Map.Entry<Long, LocalDateTime>> chunk =
+                                logins.subList(from, Math.min(from + batchSize, logins.size()));
+                        jdbcTemplate.update(updateSql(chunk.size()), updateArgs(chunk));
+                    }
+                }));
+                flushedLogins.increment(logins.size());
+            } catch (DataAccessException e) {
+                // The whole flush rolled back; keep the times unless a newer login arrived meanwhile
+                log.warn("Failed to flush {} last-login timestamps, re-queueing", logins.size(), e);
+                failedFlushes.increment();
+                for (Map.Entry<Long, LocalDateTime> login : logins) {
+                    record(login.getKey(), login.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Flush remaining login times before the application context (and its DataSource) shuts down.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private List<Map.Entry<Long, LocalDateTime>> drain() {
+        List<Map.Entry<Long, LocalDateTime>> logins = new ArrayList<>(pending.size());
+        for (Long userId : pending.keySet()) {
+            LocalDateTime loginAt = pending.remove(userId);
+            if (loginAt != null) {
+                logins.add(new AbstractMap.SimpleImmutableEntry<>(userId, loginAt));
+            }
+        }
+        return logins;
+    }
+
+    // UPDATE users SET last_login = CASE id WHEN ? THEN ? ... END WHERE id IN (?, ...)
+    private static String updateSql(int rows) {
+        StringBuilder sql = new StringBuilder("UPDATE users SET last_login = CASE id");
+        for (int i = 0; i < rows; i++) {
+            sql.append(" WHEN ? THEN ?");
+        }
+        sql.append(" END WHERE id IN (").append(String.join(", ", Collections.nCopies(rows, "?"))).append(')');
+        return sql.toString();
+    }
+
+    private static Object[] updateArgs(List<Map.Entry<Long, LocalDateTime>> chunk) {
+        Object[] args = new Object[chunk.size() * 3];
+        int i = 0;
+        for (Map.Entry<Long, LocalDateTime> login : chunk) {
+            args[i++] = login.getKey();
+            args[i++] = Timestamp.valueOf(login.getValue());
+        }
+        for (Map.Entry<Long, LocalDateTime> login : chunk) {
+            args[i++] = login.getKey();
+        }
+        return args;
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -1,12 +1,30 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.UserUpdate;
 import com.example.demo.mapper.UserMapper;
 import com.example.demo.model.User;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,11 +35,38 @@ import java.util.Optional;
 @Service
 public class MyBatisUserService {
 
+    /**
+     * Output formats of {@link #exportUsers}.
+     */
+    public enum ExportFormat {
+        /** A single JSON array. */
+        JSON,
+        /** One JSON object per line. */
+        NDJSON,
+        /** Comma-separated values with a header row. */
+        CSV
+    }
+
     private final UserMapper userMapper;
+    private final LastLoginTracker lastLoginTracker;
+    private final UserAvailabilityFilter availabilityFilter;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate exportTransaction;
+    private final int batchSize;
     
     @Autowired
-    public MyBatisUserService(UserMapper userMapper) {
+    public MyBatisUserService(UserMapper userMapper, LastLoginTracker lastLoginTracker,
+                              UserAvailabilityFilter availabilityFilter, ObjectMapper objectMapper, TransactionTemplate transactionTemplate,
+                              @Value("${board.mybatis.batch-size:500}") int batchSize) {
         this.userMapper = userMapper;
+        this.lastLoginTracker = lastLoginTracker;
+        this.availabilityFilter = availabilityFilter;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.exportTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.exportTransaction.setReadOnly(true);
+        this.batchSize = batchSize;
     }
     
     /**
@@ -84,26 +129,195 @@ public class MyBatisUserService {
         // In a real application, you would hash the password here
         
         userMapper.insert(user);
+        availabilityFilter.add(user.getUsername(), user.getEmail());
         return user;
     }
     
+    /**
+     * Register several users with multi-row inserts of at most the configured batch size.
+     *
+     * @param users the users to register
+     * @return the registered users, with their generated IDs
+     */
+    @Transactional
+    public List<User> registerUsers(List<User> users) {
+        LocalDateTime now = LocalDateTime.now();
+        for (User user : users) {
+            user.setCreatedAt(now);
+        }
+        for (int from = 0; from < users.size(); from += batchSize) {
+            userMapper.insertBatch(users.subList(from, Math.min(from + batchSize, users.size())));
+        }
+        for (User user : users) {
+            availabilityFilter.add(user.getUsername(), user.getEmail());
+        }
+        return users;
+    }
+    
+    /**
+     * Get several users by ID with a single query.
+     *
+     * @param ids the user IDs
+     * @return the users found, in no particular order
+     */
+    @Transactional(readOnly = true)
+    public List<User> getUsersByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return userMapper.findByIds(ids);
+    }
+    
+    /**
+     * Import users from a JSON array without reading the whole array into memory.
+     * Users are parsed one at a time and written in batches, each batch in its own transaction,
+     * so memory use is bounded by the batch size. Batches committed before a failure stay imported.
+     *
+     * @param json a stream containing a JSON array of users
+     * @return the number of users imported
+     * @throws IOException if the stream cannot be read or contains invalid JSON
+     * @throws IllegalArgumentException if the JSON is not an array of user objects
+     */
+    public int importUsers(InputStream json) throws IOException {
+        int imported = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of users");
+            }
+            List<User> batch = new ArrayList<>(batchSize);
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                batch.add(objectMapper.readValue(parser, User.class));
+                if (batch.size() == batchSize) {
+                    imported += insertInTransaction(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new IllegalArgumentException("Expected a user object but found " + token);
+            }
+            if (!batch.isEmpty()) {
+                imported += insertInTransaction(batch);
+            }
+        }
+        return imported;
+    }
+    
+    /**
+     * Export all users to a stream, one row at a time from a database cursor.
+     * Memory use does not depend on the number of users. Passwords are never exported.
+     *
+     * @param out the stream to write to; it is flushed but not closed
+     * @param format the output format
+     * @return the number of users exported
+     * @throws IOException if writing to the stream fails
+     */
+    public int exportUsers(OutputStream out, ExportFormat format) throws IOException {
+        try {
+            // The cursor reads from the connection lazily, so it has to stay inside the transaction
+            Integer exported = exportTransaction.execute(status -> {
+                try (Cursor<User> users = userMapper.streamAll()) {
+                    return writeUsers(users, out, format);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return exported != null ? exported : 0;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+    
+    private int writeUsers(Iterable<User> users, OutputStream out, ExportFormat format) throws IOException {
+        if (format == ExportFormat.CSV) {
+            return writeCsv(users, out);
+        }
+        int count = 0;
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        if (format == ExportFormat.JSON) {
+            generator.writeStartArray();
+        } else {
+            // NDJSON separates objects with newlines only
+            generator.setRootValueSeparator(null);
+        }
+        for (User user : users) {
+            generator.writeStartObject();
+            generator.writeNumberField("id", user.getId());
+            generator.writeStringField("username", user.getUsername());
+            generator.writeStringField("email", user.getEmail());
+            generator.writeStringField("createdAt", toText(user.getCreatedAt()));
+            generator.writeStringField("lastLogin", toText(user.getLastLogin()));
+            generator.writeEndObject();
+            if (format == ExportFormat.NDJSON) {
+                generator.writeRaw('\n');
+            }
+            count++;
+        }
+        if (format == ExportFormat.JSON) {
+            generator.writeEndArray();
+        }
+        generator.close();
+        return count;
+    }
+    
+    private static int writeCsv(Iterable<User> users, OutputStream out) throws IOException {
+        int count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("id,username,email,created_at,last_login\r\n");
+        for (User user : users) {
+            writer.write(String.valueOf(user.getId()));
+            writer.write(',');
+            writer.write(csvField(user.getUsername()));
+            writer.write(',');
+            writer.write(csvField(user.getEmail()));
+            writer.write(',');
+            writer.write(csvField(toText(user.getCreatedAt())));
+            writer.write(',');
+            writer.write(csvField(toText(user.getLastLogin())));
+            writer.write("\r\n");
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+    
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+    
+    private static String toText(LocalDateTime time) {
+        return time != null ? time.toString() : null;
+    }
+    
+    private int insertInTransaction(List<User> batch) {
+        transactionTemplate.executeWithoutResult(status -> registerUsers(batch));
+        return batch.size();
+    }
+    
     /**
      * Update a user's information.
      *
      * @param id the ID of the user to update
-     * @param userDetails the updated user details
+     * @param changes the fields to change; null fields are left unchanged
      * @return the updated user
+     * @throws IllegalArgumentException if the user doesn't exist
      */
     @Transactional
-    public User updateUser(Long id, User userDetails) {
-        User existingUser = userMapper.findById(id);
-        if (existingUser == null) {
+    public User updateUser(Long id, UserUpdate changes) {
+        // Only the fields present in the request are written; the rest keep their stored values
+        if (userMapper.updateSelective(id, changes) == 0) {
             throw new IllegalArgumentException("User not found with id: " + id);
         }
-        
-        userDetails.setId(id);
-        userMapper.update(userDetails);
-        return userDetails;
+        // A new username or email is taken from now on; null values are skipped by the filter
+        availabilityFilter.add(changes.getUsername(), changes.getEmail());
+        return userMapper.findById(id);
     }
     
     /**
@@ -118,17 +332,12 @@ public class MyBatisUserService {
     
     /**
      * Update a user's last login time.
+     * Only the login time is buffered; it is written by the next {@link LastLoginTracker} flush
+     * instead of reloading and rewriting the whole row.
      *
      * @param id the ID of the user
      */
-    @Transactional
     public void updateLastLogin(Long id) {
-        User user = userMapper.findById(id);
-        if (user == null) {
-            throw new IllegalArgumentException("User not found with id: " + id);
-        }
-        
-        user.setLastLogin(LocalDateTime.now());
-        userMapper.update(user);
+        lastLoginTracker.record(id);
     }
 }
\ No newline at end of file
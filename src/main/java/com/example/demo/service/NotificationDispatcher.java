@@ -0,0 +1,332 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.NotificationSummary;
+import com.example.demo.event.NotificationChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous, batched writer for notifications.
+ * Callers only put notifications on a bounded queue, after their transaction commits if one is active;
+ * worker threads drain it, coalesce identical pending notifications into one row whose aggregate_count
+ * is the number merged, and insert each batch with a single JDBC batch statement in a transaction of
+ * its own. A full queue is handled according to the overflow policy, and failed batches are retried
+ * with exponential backoff.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    // IDs come from the same sequence Hibernate allocates from, so both writers never collide
+    private static final String INSERT_SQL = "INSERT INTO notifications "
+            + "(id, user_id, type, content, related_url, is_read, created_at, aggregate_count) "
+            + "VALUES (NEXT VALUE FOR notifications_seq, ?, ?, ?, ?, FALSE, ?, ?)";
+
+    /** How long an idle worker waits for work before checking whether it should stop. */
+    private static final long POLL_TIMEOUT_MS = 500;
+
+    /**
+     * What to do with a notification when the queue is full.
+     */
+    public enum OverflowPolicy {
+        /** Write the notification on the caller's thread in its own transaction, slowing the producer down. */
+        CALLER_RUNS,
+        /** Drop the notification and count it. */
+        DROP
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<PendingNotification> queue;
+    private final int workerCount;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final OverflowPolicy overflowPolicy;
+
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    private final Timer batchTimer;
+    private final Counter written;
+    private final Counter coalesced;
+    private final Counter dropped;
+    private final Counter retries;
+    private final Counter failed;
+
+    @Autowired
+    public NotificationDispatcher(JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  ApplicationEventPublisher eventPublisher,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${board.notifications.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${board.notifications.workers:2}") int workerCount,
+                                  @Value("${board.notifications.batch-size:200}") int batchSize,
+                                  @Value("${board.notifications.max-attempts:3}") int maxAttempts,
+                                  @Value("${board.notifications.retry-backoff-ms:200}") long retryBackoffMs,
+                                  @Value("${board.notifications.overflow-policy:CALLER_RUNS}") OverflowPolicy overflowPolicy) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Never join the caller's transaction: a failed write must not roll back the caller's work
+        this.transactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.overflowPolicy = overflowPolicy;
+
+        Gauge.builder("board.notifications.queue.depth", queue, BlockingQueue::size)
+                .description("Notifications waiting to be written")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("board.notifications.batch")
+                .description("Time taken to write one batch of notifications")
+                .register(meterRegistry);
+        this.written = Counter.builder("board.notifications.written")
+                .description("Notifications written to the database")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("board.notifications.coalesced")
+                .description("Duplicate pending notifications merged into one")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("board.notifications.dropped")
+                .description("Notifications dropped because the queue was full")
+                .register(meterRegistry);
+        this.retries = Counter.builder("board.notifications.retries")
+                .description("Batch writes retried after a failure")
+                .register(meterRegistry);
+        this.failed = Counter.builder("board.notifications.failed")
+                .description("Notifications lost after every retry failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start the worker threads.
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::runWorker, "notification-dispatcher-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Stop accepting work, let the workers drain the queue and wait for them to finish.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        // Anything left (workers did not finish in time) is written on this thread
+        drainNow();
+    }
+
+    /**
+     * Queue a notification for writing.
+     * Inside a transaction the notification is only queued once the transaction commits,
+     * so a rolled-back caller never notifies anyone.
+     *
+     * @param userId the ID of the user to notify
+     * @param type the type of notification
+     * @param content the content of the notification
+     * @param relatedUrl the URL related to the notification
+     * @return false if the notification was dropped because the queue was full
+     *         (always true when queueing is deferred until commit)
+     */
+    public boolean enqueue(Long userId, String type, String content, String relatedUrl) {
+        PendingNotification notification = new PendingNotification(userId, type, content, relatedUrl,
+                LocalDateTime.now());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(notification);
+                }
+            });
+            return true;
+        }
+        return offer(notification);
+    }
+
+    private boolean offer(PendingNotification notification) {
+        if (running && queue.offer(notification)) {
+            return true;
+        }
+        if (running && overflowPolicy == OverflowPolicy.DROP) {
+            dropped.increment();
+            log.warn("Notification queue is full, dropping notification for user {}", notification.userId);
+            return false;
+        }
+        // Queue full (or shutting down): apply backpressure by writing on the caller's thread
+        List<PendingNotification> batch = new ArrayList<>(1);
+        batch.add(notification);
+        writeWithRetry(batch);
+        return true;
+    }
+
+    /**
+     * Write everything currently queued on the calling thread.
+     */
+    public void drainNow() {
+        List<PendingNotification> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            writeWithRetry(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Get the number of notifications waiting to be written.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void runWorker() {
+        List<PendingNotification> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingNotification first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeWithRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in notification dispatcher", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeWithRetry(List<PendingNotification> batch) {
+        // Duplicates are kept as a count on the first of them rather than dropped
+        Map<PendingNotification, Integer> counts = new LinkedHashMap<>();
+        for (PendingNotification notification : batch) {
+            counts.merge(notification, 1, Integer::sum);
+        }
+        coalesced.increment(batch.size() - counts.size());
+        List<Map.Entry<PendingNotification, Integer>> rows = new ArrayList<>(counts.entrySet());
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                batchTimer.record(() -> write(rows));
+                written.increment(rows.size());
+                return;
+            } catch (DataAccessException e) {
+                if (attempt >= maxAttempts) {
+                    failed.increment(rows.size());
+                    log.error("Giving up on {} notifications after {} attempts", rows.size(), attempt, e);
+                    return;
+                }
+                retries.increment();
+                log.warn("Failed to write {} notifications (attempt {}), retrying", rows.size(), attempt, e);
+                try {
+                    Thread.sleep(retryBackoffMs << (attempt - 1));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    failed.increment(rows.size());
+                    return;
+                }
+            }
+        }
+    }
+
+    private void write(List<Map.Entry<PendingNotification, Integer>> rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Object[]> args = new ArrayList<>(rows.size());
+            for (Map.Entry<PendingNotification, Integer> entry : rows) {
+                PendingNotification row = entry.getKey();
+                args.add(new Object[] {row.userId, row.type, row.content, row.relatedUrl,
+                        Timestamp.valueOf(row.createdAt), entry.getValue()});
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, args);
+            // Delivered to listeners after this transaction commits
+            for (Map.Entry<PendingNotification, Integer> entry : rows) {
+                PendingNotification row = entry.getKey();
+                eventPublisher.publishEvent(NotificationChangedEvent.created(row.userId,
+                        new NotificationSummary(null, row.type, row.content, row.relatedUrl, false, row.createdAt,
+                                entry.getValue())));
+            }
+        });
+    }
+
+    private static final class PendingNotification {
+        private final Long userId;
+        private final String type;
+        private final String content;
+        private final String relatedUrl;
+        private final LocalDateTime createdAt;
+
+        private PendingNotification(Long userId, String type, String content, String relatedUrl,
+                                    LocalDateTime createdAt) {
+            this.userId = userId;
+            this.type = type;
+            this.content = content;
+            this.relatedUrl = relatedUrl;
+            this.createdAt = createdAt;
+        }
+
+        // Identical notifications for the same user in one batch are coalesced, whenever they were queued
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PendingNotification)) {
+                return false;
+            }
+            PendingNotification other = (PendingNotification) o;
+            return userId.equals(other.userId)
+                    && type.equals(other.type)
+                    && content.equals(other.content)
+                    && Objects.equals(relatedUrl, other.relatedUrl);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, type, content, relatedUrl);
+        }
+    }
+}
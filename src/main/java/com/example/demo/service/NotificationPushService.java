@@ -0,0 +1,173 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.NotificationSummary;
+import com.example.demo.event.NotificationChangedEvent;
+import com.example.demo.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Pushes unread notification counts and new notifications to connected clients over Server-Sent Events.
+ * Each open tab holds one emitter; counts come from {@link UnreadNotificationCounter}, so neither
+ * connecting nor pushing normally runs a count query.
+ */
+@Service
+public class NotificationPushService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationPushService.class);
+
+    /** SSE event carrying the unread count as its data. */
+    public static final String UNREAD_COUNT_EVENT = "unread-count";
+
+    /** SSE event carrying a new notification as JSON. */
+    public static final String NOTIFICATION_EVENT = "notification";
+
+    private final UnreadNotificationCounter unreadCounter;
+    private final NotificationRepository notificationRepository;
+    private final long timeoutMs;
+
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final Counter pushedEvents;
+
+    @Autowired
+    public NotificationPushService(UnreadNotificationCounter unreadCounter,
+                                   NotificationRepository notificationRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${board.notifications.sse-timeout-ms:1800000}") long timeoutMs) {
+        this.unreadCounter = unreadCounter;
+        this.notificationRepository = notificationRepository;
+        this.timeoutMs = timeoutMs;
+
+        Gauge.builder("board.notifications.sse.connections", this, NotificationPushService::getConnectionCount)
+                .description("Open notification event streams")
+                .register(meterRegistry);
+        this.pushedEvents = Counter.builder("board.notifications.sse.pushed")
+                .description("Events pushed to notification event streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open an event stream for a user and send the current unread count right away.
+     *
+     * @param userId the user ID
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        List<SseEmitter> userEmitters = emitters.computeIfAbsent(userId, id -> new CopyOnWriteArrayList<>());
+        userEmitters.add(emitter);
+        emitter.onCompletion(() -> unregister(userId, emitter));
+        emitter.onTimeout(() -> unregister(userId, emitter));
+        emitter.onError(e -> unregister(userId, emitter));
+
+        send(userId, emitter, SseEmitter.event().name(UNREAD_COUNT_EVENT).data(getUnreadCount(userId)));
+        return emitter;
+    }
+
+    /**
+     * Get the unread notification count of a user from memory, loading it on a miss.
+     *
+     * @param userId the user ID
+     * @return the unread count
+     */
+    public long getUnreadCount(Long userId) {
+        return unreadCounter.get(userId, () -> notificationRepository.countByUserIdAndIsRead(userId, false));
+    }
+
+    /**
+     * Update the unread counter and notify the user's open streams once a change is committed.
+     *
+     * @param event the notification change
+     */
+    @TransactionalEventListener
+    public void onNotificationChanged(NotificationChangedEvent event) {
+        Long userId = event.getUserId();
+        switch (event.getType()) {
+            case CREATED:
+                unreadCounter.adjust(userId, event.getCount());
+                break;
+            case UNREAD_REMOVED:
+                unreadCounter.adjust(userId, -event.getCount());
+                break;
+            case ALL_READ:
+                unreadCounter.set(userId, 0);
+                break;
+            default:
+                return;
+        }
+
+        List<SseEmitter> userEmitters = emitters.get(userId);
+        if (userEmitters == null || userEmitters.isEmpty()) {
+            return;
+        }
+        long count = getUnreadCount(userId);
+        NotificationSummary notification = event.getNotification();
+        for (SseEmitter emitter : userEmitters) {
+            if (notification != null
+                    && !send(userId, emitter, SseEmitter.event().name(NOTIFICATION_EVENT).data(notification))) {
+                continue;
+            }
+            send(userId, emitter, SseEmitter.event().name(UNREAD_COUNT_EVENT).data(count));
+        }
+    }
+
+    /**
+     * Send a comment to every stream so dead connections are detected and proxies keep idle streams open.
+     */
+    @Scheduled(fixedDelayString = "${board.notifications.sse-heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Map.Entry<Long, List<SseEmitter>> entry : emitters.entrySet()) {
+            for (SseEmitter emitter : entry.getValue()) {
+                send(entry.getKey(), emitter, SseEmitter.event().comment("keepalive"));
+            }
+        }
+    }
+
+    /**
+     * Get the number of open streams.
+     *
+     * @return the connection count across all users
+     */
+    public int getConnectionCount() {
+        int count = 0;
+        for (List<SseEmitter> userEmitters : emitters.values()) {
+            count += userEmitters.size();
+        }
+        return count;
+    }
+
+    private boolean send(Long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            pushedEvents.increment();
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; the browser reconnects on its own if the tab is still open
+            log.debug("Dropping notification stream of user {}", userId, e);
+            unregister(userId, emitter);
+            return false;
+        }
+    }
+
+    private void unregister(Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, userEmitters) -> {
+            userEmitters.remove(emitter);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.demo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Scheduled retention for the notifications table.
+ * Read notifications older than the configured age are deleted, and repeated read notifications of
+ * the same type and related URL are collapsed into their newest row, whose aggregate_count records how
+ * many notifications it stands for. Unread notifications are never collapsed, since their texts may
+ * differ and the user has not seen them yet. Both steps work in small chunks, each in its own short transaction,
+ * so the job never holds locks on a large range of rows.
+ */
+@Component
+public class NotificationRetentionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationRetentionJob.class);
+
+    // Range scan of the (is_read, created_at) index; deleted chunks drop out of the range
+    private static final String SELECT_EXPIRED_SQL = "SELECT id FROM notifications "
+            + "WHERE is_read = TRUE AND created_at < ? ORDER BY created_at LIMIT ?";
+
+    private static final String DELETE_SQL = "DELETE FROM notifications WHERE id = ?";
+
+    private static final String SELECT_REPEATED_SQL = "SELECT user_id, type, related_url "
+            + "FROM notifications WHERE is_read = TRUE AND related_url IS NOT NULL AND created_at < ? "
+            + "GROUP BY user_id, type, related_url HAVING COUNT(*) > 1 LIMIT ?";
+
+    // Only rows older than the cutoff belong to a group; IDs are not in creation order
+    // (sequence blocks, bulk loads), so the newest row is found by (created_at, id)
+    private static final String GROUP_FILTER =
+            "user_id = ? AND type = ? AND related_url = ? AND is_read = TRUE AND created_at < ?";
+
+    private static final String SELECT_KEEPER_SQL = "SELECT id FROM notifications WHERE " + GROUP_FILTER
+            + " ORDER BY created_at DESC, id DESC LIMIT 1";
+
+    private static final String UPDATE_AGGREGATE_SQL = "UPDATE notifications SET aggregate_count = "
+            + "(SELECT SUM(aggregate_count) FROM notifications WHERE " + GROUP_FILTER + ") WHERE id = ?";
+
+    private static final String DELETE_COLLAPSED_SQL = "DELETE FROM notifications WHERE " + GROUP_FILTER + " AND id <> ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration readMaxAge;
+    private final boolean collapseEnabled;
+    private final Duration collapseMinAge;
+    private final int batchSize;
+    private final long pauseMs;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Timer runTimer;
+    private final Counter deleted;
+    private final Counter collapsed;
+
+    @Autowired
+    public NotificationRetentionJob(JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${board.notifications.retention.read-max-age:30d}") Duration readMaxAge,
+                                    @Value("${board.notifications.retention.collapse-enabled:true}") boolean collapseEnabled,
+                                    @Value("${board.notifications.retention.collapse-min-age:1d}") Duration collapseMinAge,
+                                    @Value("${board.notifications.retention.batch-size:1000}") int batchSize,
+                                    @Value("${board.notifications.retention.pause-ms:50}") long pauseMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.readMaxAge = readMaxAge;
+        this.collapseEnabled = collapseEnabled;
+        this.collapseMinAge = collapseMinAge;
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+
+        this.runTimer = Timer.builder("board.notifications.retention.run")
+                .description("Time taken by one retention run")
+                .register(meterRegistry);
+        this.deleted = Counter.builder("board.notifications.retention.deleted")
+                .description("Expired read notifications deleted")
+                .register(meterRegistry);
+        this.collapsed = Counter.builder("board.notifications.retention.collapsed")
+                .description("Repeated notifications folded into an aggregated row")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run both retention steps. Overlapping runs are skipped.
+     */
+    @Scheduled(cron = "${board.notifications.retention.cron:0 30 3 * * *}")
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Notification retention is already running, skipping");
+            return;
+        }
+        try {
+            runTimer.record(() -> {
+                int purged = purgeExpiredReadNotifications();
+                int folded = collapseEnabled ? collapseRepeatedNotifications() : 0;
+                log.info("Notification retention deleted {} expired and collapsed {} repeated notification(s)",
+                        purged, folded);
+            });
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Delete read notifications older than the configured age, one chunk per transaction.
+     *
+     * @return the number of notifications deleted
+     */
+    public int purgeExpiredReadNotifications() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(readMaxAge));
+        int total = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(SELECT_EXPIRED_SQL, Long.class, cutoff, batchSize);
+            if (ids.isEmpty()) {
+                return total;
+            }
+            List<Object[]> args = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                args.add(new Object[] {id});
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(DELETE_SQL, args));
+            total += ids.size();
+            deleted.increment(ids.size());
+            log.debug("Deleted {} expired notifications ({} so far)", ids.size(), total);
+            if (ids.size() < batchSize || !pause()) {
+                return total;
+            }
+        }
+    }
+
+    /**
+     * Collapse repeated read notifications (same user, type and related URL) older than the
+     * configured minimum age into their newest row, a bounded number of groups per transaction.
+     *
+     * @return the number of rows removed by collapsing
+     */
+    public int collapseRepeatedNotifications() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(collapseMinAge));
+        int total = 0;
+        while (true) {
+            List<Object[]> groups = jdbcTemplate.query(SELECT_REPEATED_SQL, (rs, rowNum) -> new Object[] {
+                    rs.getLong(1), rs.getString(2), rs.getString(3)}, cutoff, batchSize);
+            if (groups.isEmpty()) {
+                return total;
+            }
+            Integer removed = transactionTemplate.execute(status -> {
+                int rows = 0;
+                for (Object[] group : groups) {
+                    rows += collapse((Long) group[0], (String) group[1], (String) group[2], cutoff);
+                }
+                return rows;
+            });
+            total += removed;
+            collapsed.increment(removed);
+            log.debug("Collapsed {} repeated notifications ({} so far)", removed, total);
+            if (groups.size() < batchSize || !pause()) {
+                return total;
+            }
+        }
+    }
+
+    private int collapse(Long userId, String type, String relatedUrl, Timestamp cutoff) {
+        List<Long> keeper = jdbcTemplate.queryForList(SELECT_KEEPER_SQL, Long.class, userId, type, relatedUrl, cutoff);
+        if (keeper.isEmpty()) {
+            return 0;
+        }
+        Long keeperId = keeper.get(0);
+        jdbcTemplate.update(UPDATE_AGGREGATE_SQL, userId, type, relatedUrl, cutoff, keeperId);
+        return jdbcTemplate.update(DELETE_COLLAPSED_SQL, userId, type, relatedUrl, cutoff, keeperId);
+    }
+
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
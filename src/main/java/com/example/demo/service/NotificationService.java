@@ -1,12 +1,21 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.KeysetCursor;
+import com.example.demo.dto.NotificationSummary;
+import com.example.demo.event.NotificationChangedEvent;
 import com.example.demo.model.Notification;
 import com.example.demo.model.User;
 import com.example.demo.repository.NotificationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,25 +26,54 @@ import java.util.Optional;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final NotificationPushService notificationPushService;
+    private final NotificationDispatcher notificationDispatcher;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public NotificationService(NotificationRepository notificationRepository) {
+    public NotificationService(NotificationRepository notificationRepository,
+                               NotificationPushService notificationPushService,
+                               NotificationDispatcher notificationDispatcher,
+                               ApplicationEventPublisher eventPublisher) {
         this.notificationRepository = notificationRepository;
+        this.notificationPushService = notificationPushService;
+        this.notificationDispatcher = notificationDispatcher;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Create a new notification.
+     * The notification is queued and written asynchronously in a batch, so it is not
+     * yet visible when this method returns and the caller's transaction does not wait for it.
+     * Inside a transaction it is only queued once that transaction commits.
      *
      * @param user the user to notify
      * @param type the type of notification
      * @param content the content of the notification
      * @param relatedUrl the URL related to the notification
-     * @return the created notification
+     * @return false if the notification was dropped because the queue was full
      */
-    @Transactional
-    public Notification createNotification(User user, String type, String content, String relatedUrl) {
-        Notification notification = new Notification(user, type, content, relatedUrl);
-        return notificationRepository.save(notification);
+    public boolean createNotification(User user, String type, String content, String relatedUrl) {
+        return notificationDispatcher.enqueue(user.getId(), type, content, relatedUrl);
+    }
+
+    /**
+     * Send the same notification to many users.
+     *
+     * @param userIds the IDs of the users to notify
+     * @param type the type of notification
+     * @param content the content of the notification
+     * @param relatedUrl the URL related to the notification
+     * @return the number of notifications queued (dropped ones are not counted)
+     */
+    public int notifyUsers(Collection<Long> userIds, String type, String content, String relatedUrl) {
+        int queued = 0;
+        for (Long userId : userIds) {
+            if (notificationDispatcher.enqueue(userId, type, content, relatedUrl)) {
+                queued++;
+            }
+        }
+        return queued;
     }
 
     /**
@@ -60,15 +98,51 @@ public class NotificationService {
         return notificationRepository.findByUserAndIsRead(user, false);
     }
 
+    /**
+     * Get one page of a user's inbox, newest first.
+     * Seeks by (createdAt, id) instead of using OFFSET and runs no count query,
+     * so every page costs the same no matter how long the history is.
+     *
+     * @param userId the ID of the user to get notifications for
+     * @param unreadOnly whether to return only unread notifications
+     * @param after cursor of the last notification of the previous page, or null for the first page
+     * @param size the page size
+     * @return the page with a cursor for the next (older) page
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<NotificationSummary> getNotificationPage(Long userId, boolean unreadOnly, KeysetCursor after,
+                                                               int size) {
+        Pageable limit = PageRequest.of(0, size);
+        Slice<NotificationSummary> slice;
+        if (unreadOnly) {
+            slice = after == null
+                    ? notificationRepository.findLatestByUserIdAndIsRead(userId, false, limit)
+                    : notificationRepository.findByUserIdAndIsReadOlderThan(userId, false,
+                            after.getCreatedAt(), after.getId(), limit);
+        } else {
+            slice = after == null
+                    ? notificationRepository.findLatestByUserId(userId, limit)
+                    : notificationRepository.findByUserIdOlderThan(userId, after.getCreatedAt(), after.getId(), limit);
+        }
+
+        List<NotificationSummary> content = slice.getContent();
+        KeysetCursor next = null;
+        if (slice.hasNext() && !content.isEmpty()) {
+            NotificationSummary last = content.get(content.size() - 1);
+            next = new KeysetCursor(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(content, next, null);
+    }
+
     /**
      * Count unread notifications for a user.
+     * Served from the in-memory counter; the database is only queried on a cache miss.
      *
-     * @param user the user to count notifications for
+     * @param userId the ID of the user to count notifications for
      * @return count of unread notifications
      */
-    @Transactional(readOnly = true)
-    public long countUnreadNotificationsForUser(User user) {
-        return notificationRepository.countByUserAndIsRead(user, false);
+    public long countUnreadNotificationsForUser(Long userId) {
+        return notificationPushService.getUnreadCount(userId);
     }
 
     /**
@@ -82,24 +156,42 @@ public class NotificationService {
         Optional<Notification> notificationOpt = notificationRepository.findById(notificationId);
         if (notificationOpt.isPresent()) {
             Notification notification = notificationOpt.get();
+            boolean wasUnread = !notification.isRead();
             notification.setRead(true);
-            return Optional.of(notificationRepository.save(notification));
+            Notification savedNotification = notificationRepository.save(notification);
+            if (wasUnread) {
+                eventPublisher.publishEvent(NotificationChangedEvent.unreadRemoved(
+                        savedNotification.getUser().getId(), 1));
+            }
+            return Optional.of(savedNotification);
         }
         return Optional.empty();
     }
 
     /**
      * Mark all notifications for a user as read.
+     * Runs as one bulk UPDATE instead of loading and saving each notification.
      *
-     * @param user the user whose notifications to mark as read
+     * @param userId the ID of the user whose notifications to mark as read
+     * @return the number of notifications marked as read
      */
     @Transactional
-    public void markAllNotificationsAsRead(User user) {
-        List<Notification> unreadNotifications = notificationRepository.findByUserAndIsRead(user, false);
-        for (Notification notification : unreadNotifications) {
-            notification.setRead(true);
-            notificationRepository.save(notification);
-        }
+    public int markAllNotificationsAsRead(Long userId) {
+        int updated = notificationRepository.markAllAsReadByUserId(userId);
+        eventPublisher.publishEvent(NotificationChangedEvent.allRead(userId));
+        return updated;
+    }
+
+    /**
+     * Delete all read notifications for a user in one bulk DELETE.
+     * The unread count is unaffected, so no change event is published.
+     *
+     * @param userId the ID of the user whose read notifications to delete
+     * @return the number of notifications deleted
+     */
+    @Transactional
+    public int deleteReadNotifications(Long userId) {
+        return notificationRepository.deleteReadByUserId(userId);
     }
 
     /**
@@ -109,6 +201,14 @@ public class NotificationService {
      */
     @Transactional
     public void deleteNotification(Long notificationId) {
-        notificationRepository.deleteById(notificationId);
+        Optional<Notification> notificationOpt = notificationRepository.findById(notificationId);
+        if (!notificationOpt.isPresent()) {
+            return;
+        }
+        Notification notification = notificationOpt.get();
+        notificationRepository.delete(notification);
+        if (!notification.isRead()) {
+            eventPublisher.publishEvent(NotificationChangedEvent.unreadRemoved(notification.getUser().getId(), 1));
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,363 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.PostSummary;
+import com.example.demo.event.PostChangedEvent;
+import com.example.demo.repository.PostRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory leaderboard of the most popular posts, globally and per board.
+ * Every recorded view adds to an exponentially decayed score (recent views count more than old ones,
+ * controlled by a half-life), and a bounded top-K set per scope is updated in place. Because every
+ * score decays by the same factor, scores are stored relative to an epoch and only rebased occasionally.
+ * The top posts are periodically materialized as summaries, which also drops posts that no longer exist,
+ * so readers get a ready-made list without touching the database.
+ */
+@Component
+public class PopularPostLeaderboard {
+
+    /** Rebase once the epoch weight reaches e^REBASE_EXPONENT, far below double overflow. */
+    private static final double REBASE_EXPONENT = 40;
+
+    /** Posts whose decayed score falls below this many views are forgotten. */
+    private static final double PRUNE_THRESHOLD = 0.05;
+
+    private final PostRepository postRepository;
+    private final Clock clock;
+    private final double decayMillis;
+    private final int capacity;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ConcurrentHashMap<Long, TrackedPost> tracked = new ConcurrentHashMap<>();
+    private final TopK global;
+    private final ConcurrentHashMap<Long, TopK> byBoard = new ConcurrentHashMap<>();
+    private volatile long epochMillis;
+
+    private volatile List<PostSummary> materializedGlobal = Collections.emptyList();
+    private volatile Map<Long, List<PostSummary>> materializedByBoard = Collections.emptyMap();
+
+    @Autowired
+    public PopularPostLeaderboard(PostRepository postRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${board.popular.half-life:6h}") Duration halfLife,
+                                  @Value("${board.popular.capacity:50}") int capacity) {
+        this(postRepository, Clock.systemUTC(), halfLife, capacity);
+        Gauge.builder("board.popular.tracked.posts", tracked, Map::size)
+                .description("Posts with a non-negligible popularity score")
+                .register(meterRegistry);
+    }
+
+    PopularPostLeaderboard(PostRepository postRepository, Clock clock, Duration halfLife, int capacity) {
+        this.postRepository = postRepository;
+        this.clock = clock;
+        this.decayMillis = halfLife.toMillis() / Math.log(2);
+        this.capacity = capacity;
+        this.global = new TopK(capacity);
+        this.epochMillis = clock.millis();
+    }
+
+    /**
+     * Record a single view of a post.
+     *
+     * @param postId the viewed post ID
+     * @param boardId the board the post belongs to
+     */
+    public void recordView(Long postId, Long boardId) {
+        lock.readLock().lock();
+        try {
+            double weight = Math.exp((clock.millis() - epochMillis) / decayMillis);
+            TopK board = byBoard.computeIfAbsent(boardId, id -> new TopK(capacity));
+            // compute() serializes views of the same post, so top-K updates for a post never go backwards
+            tracked.compute(postId, (id, current) -> {
+                double score = (current != null ? current.score : 0) + weight;
+                global.update(id, score);
+                board.update(id, score);
+                return new TrackedPost(boardId, score);
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (weight() > Math.exp(REBASE_EXPONENT)) {
+            rebase();
+        }
+    }
+
+    /**
+     * Forget a post, e.g. after it has been deleted.
+     *
+     * @param postId the post ID
+     */
+    public void remove(Long postId) {
+        forget(postId);
+        materializedGlobal = without(materializedGlobal, postId);
+        Map<Long, List<PostSummary>> boards = new HashMap<>();
+        for (Map.Entry<Long, List<PostSummary>> entry : materializedByBoard.entrySet()) {
+            boards.put(entry.getKey(), without(entry.getValue(), postId));
+        }
+        materializedByBoard = boards;
+    }
+
+    private void forget(Long postId) {
+        lock.writeLock().lock();
+        try {
+            TrackedPost removed = tracked.remove(postId);
+            global.remove(postId);
+            if (removed != null) {
+                TopK board = byBoard.get(removed.boardId);
+                if (board != null) {
+                    board.remove(postId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Get the IDs of the most popular posts.
+     *
+     * @param boardId the board ID, or null for all boards
+     * @param limit the maximum number of posts
+     * @return post IDs, most popular first
+     */
+    public List<Long> getTopPostIds(Long boardId, int limit) {
+        TopK topK = boardId == null ? global : byBoard.get(boardId);
+        return topK != null ? topK.ids(limit) : new ArrayList<>();
+    }
+
+    /**
+     * Get the materialized summaries of the most popular posts.
+     * Reads a precomputed list and never queries the database.
+     *
+     * @param limit the maximum number of posts
+     * @return summaries, most popular first (empty until the first refresh sees any views)
+     */
+    public List<PostSummary> getTopPosts(int limit) {
+        return head(materializedGlobal, limit);
+    }
+
+    /**
+     * Get the materialized summaries of the most popular posts of a board.
+     *
+     * @param boardId the board ID
+     * @param limit the maximum number of posts
+     * @return summaries, most popular first
+     */
+    public List<PostSummary> getTopPosts(Long boardId, int limit) {
+        return head(materializedByBoard.getOrDefault(boardId, Collections.emptyList()), limit);
+    }
+
+    /**
+     * Rebase and prune the scores, then reload the summaries of every top post in one query.
+     * Posts the database no longer returns have been deleted and are dropped from the leaderboard.
+     */
+    @Scheduled(fixedDelayString = "${board.popular.refresh-interval-ms:30000}")
+    public void refresh() {
+        rebase();
+
+        List<Long> globalIds = global.ids(capacity);
+        Map<Long, List<Long>> boardIds = new HashMap<>();
+        Set<Long> allIds = new HashSet<>(globalIds);
+        for (Map.Entry<Long, TopK> entry : byBoard.entrySet()) {
+            List<Long> ids = entry.getValue().ids(capacity);
+            if (!ids.isEmpty()) {
+                boardIds.put(entry.getKey(), ids);
+                allIds.addAll(ids);
+            }
+        }
+        if (allIds.isEmpty()) {
+            materializedGlobal = Collections.emptyList();
+            materializedByBoard = Collections.emptyMap();
+            return;
+        }
+
+        Map<Long, PostSummary> summaries = new HashMap<>();
+        for (PostSummary summary : postRepository.findSummariesByIdIn(allIds)) {
+            summaries.put(summary.getId(), summary);
+        }
+        for (Long id : allIds) {
+            if (!summaries.containsKey(id)) {
+                forget(id);
+            }
+        }
+
+        Map<Long, List<PostSummary>> boards = new HashMap<>();
+        for (Map.Entry<Long, List<Long>> entry : boardIds.entrySet()) {
+            boards.put(entry.getKey(), resolve(entry.getValue(), summaries));
+        }
+        materializedGlobal = resolve(globalIds, summaries);
+        materializedByBoard = boards;
+    }
+
+    /**
+     * Drop deleted posts as soon as the deletion is committed.
+     *
+     * @param event the post change
+     */
+    @TransactionalEventListener
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getType() == PostChangedEvent.Type.DELETED) {
+            remove(event.getPostId());
+        }
+    }
+
+    private double weight() {
+        return Math.exp((clock.millis() - epochMillis) / decayMillis);
+    }
+
+    private void rebase() {
+        lock.writeLock().lock();
+        try {
+            long now = clock.millis();
+            double factor = Math.exp(-(now - epochMillis) / decayMillis);
+            epochMillis = now;
+
+            global.clear();
+            for (TopK board : byBoard.values()) {
+                board.clear();
+            }
+            for (Map.Entry<Long, TrackedPost> entry : new ArrayList<>(tracked.entrySet())) {
+                double score = entry.getValue().score * factor;
+                if (score < PRUNE_THRESHOLD) {
+                    tracked.remove(entry.getKey());
+                    continue;
+                }
+                Long boardId = entry.getValue().boardId;
+                tracked.put(entry.getKey(), new TrackedPost(boardId, score));
+                global.update(entry.getKey(), score);
+                byBoard.computeIfAbsent(boardId, id -> new TopK(capacity)).update(entry.getKey(), score);
+            }
+            byBoard.values().removeIf(TopK::isEmpty);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static List<PostSummary> resolve(List<Long> ids, Map<Long, PostSummary> summaries) {
+        List<PostSummary> resolved = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            PostSummary summary = summaries.get(id);
+            if (summary != null) {
+                resolved.add(summary);
+            }
+        }
+        return Collections.unmodifiableList(resolved);
+    }
+
+    private static List<PostSummary> without(List<PostSummary> summaries, Long postId) {
+        List<PostSummary> filtered = new ArrayList<>(summaries.size());
+        for (PostSummary summary : summaries) {
+            if (!summary.getId().equals(postId)) {
+                filtered.add(summary);
+            }
+        }
+        return Collections.unmodifiableList(filtered);
+    }
+
+    private static List<PostSummary> head(List<PostSummary> summaries, int limit) {
+        return summaries.size() <= limit ? summaries : summaries.subList(0, limit);
+    }
+
+    private static final class TrackedPost {
+        private final Long boardId;
+        private final double score;
+
+        private TrackedPost(Long boardId, double score) {
+            this.boardId = boardId;
+            this.score = score;
+        }
+    }
+
+    /**
+     * Bounded set of the highest scores of one scope. A post pushed out of the set comes
+     * back as soon as its score beats the lowest member again.
+     */
+    private static final class TopK {
+        private final int capacity;
+        private final TreeSet<Ranked> ranking = new TreeSet<>();
+        private final Map<Long, Ranked> members = new HashMap<>();
+
+        private TopK(int capacity) {
+            this.capacity = capacity;
+        }
+
+        private synchronized void update(Long postId, double score) {
+            Ranked previous = members.remove(postId);
+            if (previous != null) {
+                ranking.remove(previous);
+            } else if (ranking.size() >= capacity && score <= ranking.last().score) {
+                return;
+            }
+            Ranked ranked = new Ranked(postId, score);
+            ranking.add(ranked);
+            members.put(postId, ranked);
+            if (ranking.size() > capacity) {
+                members.remove(ranking.pollLast().postId);
+            }
+        }
+
+        private synchronized void remove(Long postId) {
+            Ranked previous = members.remove(postId);
+            if (previous != null) {
+                ranking.remove(previous);
+            }
+        }
+
+        private synchronized void clear() {
+            ranking.clear();
+            members.clear();
+        }
+
+        private synchronized boolean isEmpty() {
+            return ranking.isEmpty();
+        }
+
+        private synchronized List<Long> ids(int limit) {
+            List<Long> ids = new ArrayList<>(Math.min(limit, ranking.size()));
+            for (Ranked ranked : ranking) {
+                if (ids.size() >= limit) {
+                    break;
+                }
+                ids.add(ranked.postId);
+            }
+            return ids;
+        }
+    }
+
+    private static final class Ranked implements Comparable<Ranked> {
+        private final Long postId;
+        private final double score;
+
+        private Ranked(Long postId, double score) {
+            this.postId = postId;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(Ranked other) {
+            int byScore = Double.compare(other.score, score);
+            // Ties go to the newer post
+            return byScore != 0 ? byScore : Long.compare(other.postId, postId);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.demo.service;
+
+import com.example.demo.event.BoardChangedEvent;
+import com.example.demo.event.PostChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache of total post counts used to fill pagination totals.
+ * Small counts are exact: they expire after a short TTL and are evicted whenever a post is
+ * created or deleted. Counts at or above the approximate threshold are kept for a longer TTL
+ * and adjusted by the create/delete deltas instead, so large listings are not recounted on writes.
+ */
+@Component
+public class PostCountCache {
+
+    /** Key for the count of all posts. */
+    public static final String ALL_POSTS = "posts:all";
+
+    private final Cache<String, CachedCount> cache;
+    private final long approximateThreshold;
+
+    @Autowired
+    public PostCountCache(MeterRegistry meterRegistry,
+                          @Value("${board.post-count-cache.ttl:30s}") Duration ttl,
+                          @Value("${board.post-count-cache.approximate-ttl:10m}") Duration approximateTtl,
+                          @Value("${board.post-count-cache.approximate-threshold:10000}") long approximateThreshold,
+                          @Value("${board.post-count-cache.max-size:10000}") long maxSize) {
+        this.approximateThreshold = approximateThreshold;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, CachedCount>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedCount value, long currentTime) {
+                        return (value.approximate ? approximateTtl : ttl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedCount value, long currentTime,
+                                                  long currentDuration) {
+                        // Delta adjustments do not extend the lifetime of an approximate count
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedCount value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "postCounts");
+    }
+
+    /**
+     * Key for the count of posts in a board.
+     *
+     * @param boardId the board ID
+     * @return the cache key
+     */
+    public static String boardKey(Long boardId) {
+        return "posts:board:" + boardId;
+    }
+
+    /**
+     * Get a cached count, computing it on a miss.
+     *
+     * @param key the count key, e.g. {@link #ALL_POSTS} or {@link #boardKey(Long)}
+     * @param counter computes the exact count on a cache miss
+     * @return the cached (possibly approximate) count
+     */
+    public long get(String key, LongSupplier counter) {
+        return cache.get(key, k -> {
+            long count = counter.getAsLong();
+            return new CachedCount(count, count >= approximateThreshold);
+        }).count;
+    }
+
+    /**
+     * Drop every cached count.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Keep cached counts in line with committed post creations and deletions.
+     *
+     * @param event the post change
+     */
+    @TransactionalEventListener
+    public void onPostChanged(PostChangedEvent event) {
+        long delta;
+        if (event.getType() == PostChangedEvent.Type.CREATED) {
+            delta = 1;
+        } else if (event.getType() == PostChangedEvent.Type.DELETED) {
+            delta = -1;
+        } else {
+            return;
+        }
+        applyDelta(ALL_POSTS, delta);
+        if (event.getBoardId() != null) {
+            applyDelta(boardKey(event.getBoardId()), delta);
+        }
+    }
+
+    /**
+     * Drop every cached count once a board deletion, which removes its posts in bulk, is committed.
+     *
+     * @param event the board change
+     */
+    @TransactionalEventListener
+    public void onBoardChanged(BoardChangedEvent event) {
+        if (event.getType() == BoardChangedEvent.Type.DELETED) {
+            invalidateAll();
+        }
+    }
+
+    private void applyDelta(String key, long delta) {
+        // Exact counts are evicted and recounted on the next read; approximate ones are adjusted in place
+        cache.asMap().computeIfPresent(key, (k, cached) ->
+                cached.approximate ? new CachedCount(cached.count + delta, true) : null);
+    }
+
+    private static final class CachedCount {
+        private final long count;
+        private final boolean approximate;
+
+        private CachedCount(long count, boolean approximate) {
+            this.count = count;
+            this.approximate = approximate;
+        }
+    }
+}
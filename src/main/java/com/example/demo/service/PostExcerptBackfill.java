@@ -0,0 +1,104 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Post;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One-off backfill of posts.excerpt for rows created before the column existed.
+ * Runs in the background after startup, a chunk of posts per short transaction, and reads
+ * only the first characters of each post's content. New and edited posts get their excerpt
+ * from {@link Post#setContent}, so once this finishes listings never read the content column.
+ */
+@Component
+public class PostExcerptBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(PostExcerptBackfill.class);
+
+    // One character more than the excerpt, so excerptOf can tell whether a surrogate pair is cut
+    private static final String SELECT_MISSING_SQL = "SELECT id, SUBSTRING(content, 1, "
+            + (Post.EXCERPT_LENGTH + 1) + ") FROM posts WHERE excerpt IS NULL ORDER BY id LIMIT ?";
+
+    private static final String UPDATE_SQL = "UPDATE posts SET excerpt = ? WHERE id = ? AND excerpt IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final int batchSize;
+    private final long pauseMs;
+
+    @Autowired
+    public PostExcerptBackfill(JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               TaskScheduler taskScheduler,
+                               @Value("${board.posts.excerpt-backfill.batch-size:500}") int batchSize,
+                               @Value("${board.posts.excerpt-backfill.pause-ms:20}") long pauseMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.taskScheduler = taskScheduler;
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+    }
+
+    /**
+     * Start the backfill in the background once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        taskScheduler.schedule(() -> {
+            try {
+                int filled = backfill();
+                if (filled > 0) {
+                    log.info("Backfilled excerpts of {} post(s)", filled);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Post excerpt backfill failed; listings fall back to reading the content", e);
+            }
+        }, Instant.now());
+    }
+
+    /**
+     * Fill in every missing excerpt, one chunk per transaction.
+     *
+     * @return the number of posts updated
+     */
+    public int backfill() {
+        int total = 0;
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query(SELECT_MISSING_SQL, (rs, rowNum) -> new Object[] {
+                    Post.excerptOf(rs.getString(2)), rs.getLong(1)}, batchSize);
+            if (rows.isEmpty()) {
+                return total;
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_SQL, rows));
+            total += rows.size();
+            if (rows.size() < batchSize || !pause()) {
+                return total;
+            }
+        }
+    }
+
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
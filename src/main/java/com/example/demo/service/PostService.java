@@ -1,19 +1,32 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.KeysetCursor;
+import com.example.demo.dto.PostSummary;
+import com.example.demo.event.PostChangedEvent;
 import com.example.demo.model.Board;
 import com.example.demo.model.Post;
 import com.example.demo.model.User;
 import com.example.demo.repository.BoardRepository;
 import com.example.demo.repository.PostRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.search.PostSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -27,12 +40,25 @@ public class PostService {
     private final PostRepository postRepository;
     private final BoardRepository boardRepository;
     private final UserRepository userRepository;
+    private final ViewCountBuffer viewCountBuffer;
+    private final PostSearchIndex postSearchIndex;
+    private final PostCountCache postCountCache;
+    private final PopularPostLeaderboard popularPostLeaderboard;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public PostService(PostRepository postRepository, BoardRepository boardRepository, UserRepository userRepository) {
+    public PostService(PostRepository postRepository, BoardRepository boardRepository, UserRepository userRepository,
+                       ViewCountBuffer viewCountBuffer, PostSearchIndex postSearchIndex,
+                       PostCountCache postCountCache, PopularPostLeaderboard popularPostLeaderboard,
+                       ApplicationEventPublisher eventPublisher) {
         this.postRepository = postRepository;
         this.boardRepository = boardRepository;
         this.userRepository = userRepository;
+        this.viewCountBuffer = viewCountBuffer;
+        this.postSearchIndex = postSearchIndex;
+        this.postCountCache = postCountCache;
+        this.popularPostLeaderboard = popularPostLeaderboard;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -46,12 +72,25 @@ public class PostService {
 
     /**
      * 페이지네이션을 적용하여 전체 게시글 목록을 조회합니다.
+     * 전체 개수는 {@link PostCountCache}에서 가져오므로 요청마다 COUNT 쿼리를 실행하지 않습니다.
      * @param pageable 페이징/정렬 정보
      * @return 게시글 페이지 객체
      */
     @Transactional(readOnly = true)
     public Page<Post> getAllPosts(Pageable pageable) {
-        return postRepository.findAll(pageable);
+        return new PageImpl<>(postRepository.findAllBy(pageable), pageable, countAllPosts());
+    }
+
+    /**
+     * 목록 화면용 게시글 요약을 페이지 단위로 조회합니다.
+     * 게시판 이름과 작성자 이름을 함께 조회하므로 페이지 크기와 관계없이 조회 쿼리 한 번만 실행되며,
+     * 전체 개수는 캐시된 값을 사용합니다.
+     * @param pageable 페이징/정렬 정보
+     * @return 게시글 요약 페이지 객체
+     */
+    @Transactional(readOnly = true)
+    public Page<PostSummary> getAllPostSummaries(Pageable pageable) {
+        return new PageImpl<>(postRepository.findSummaries(pageable), pageable, countAllPosts());
     }
 
     /**
@@ -88,7 +127,106 @@ public class PostService {
     public Page<Post> getPostsByBoard(Long boardId, Pageable pageable) {
         Board board = boardRepository.findById(boardId)
                 .orElseThrow(() -> new IllegalArgumentException("Board not found with id: " + boardId));
-        return postRepository.findByBoard(board, pageable);
+        return new PageImpl<>(postRepository.findAllByBoard(board, pageable), pageable, countPostsByBoard(boardId));
+    }
+
+    /**
+     * 특정 게시판(board)의 게시글 요약을 페이지 단위로 조회합니다.
+     * 게시판 존재 여부는 호출하는 쪽에서 확인한 것으로 간주합니다.
+     * @param boardId 게시판 ID
+     * @param pageable 페이징/정렬 정보
+     * @return 해당 게시판의 게시글 요약 페이지 객체
+     */
+    @Transactional(readOnly = true)
+    public Page<PostSummary> getPostSummariesByBoard(Long boardId, Pageable pageable) {
+        return new PageImpl<>(postRepository.findSummariesByBoardId(boardId, pageable), pageable,
+                countPostsByBoard(boardId));
+    }
+
+    /**
+     * 전체 게시글 수를 반환합니다.
+     * 게시판별 게시글 수의 합으로 계산한 값을 캐시하며, 게시글이 많으면 근사값일 수 있습니다.
+     * @return 전체 게시글 수
+     */
+    @Transactional(readOnly = true)
+    public long countAllPosts() {
+        return postCountCache.get(PostCountCache.ALL_POSTS, boardRepository::sumPostCounts);
+    }
+
+    /**
+     * 특정 게시판의 게시글 수를 반환합니다.
+     * 게시판에 저장된 게시글 수를 캐시하며, 게시글이 많으면 근사값일 수 있습니다.
+     * @param boardId 게시판 ID
+     * @return 해당 게시판의 게시글 수 (존재하지 않는 게시판이면 0)
+     */
+    @Transactional(readOnly = true)
+    public long countPostsByBoard(Long boardId) {
+        return postCountCache.get(PostCountCache.boardKey(boardId),
+                () -> boardRepository.findPostCountById(boardId).orElse(0L));
+    }
+
+    /**
+     * 커서(작성일시, ID) 기반으로 전체 게시글 요약을 조회합니다.
+     * OFFSET 스캔과 COUNT 쿼리 없이 커서 위치로 바로 이동하므로 깊은 페이지도 첫 페이지와 같은 비용이 듭니다.
+     * @param after 이 커서 다음(더 오래된) 게시글을 조회, null 가능
+     * @param before 이 커서 이전(더 최신) 게시글을 조회, null 가능
+     * @param size 페이지 크기
+     * @return 이전/다음 커서를 포함한 게시글 요약 페이지
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PostSummary> getPostSummariesByCursor(KeysetCursor after, KeysetCursor before, int size) {
+        return getPostSummariesByCursor(null, after, before, size);
+    }
+
+    /**
+     * 커서(작성일시, ID) 기반으로 특정 게시판의 게시글 요약을 조회합니다.
+     * @param boardId 게시판 ID, null이면 전체 게시글
+     * @param after 이 커서 다음(더 오래된) 게시글을 조회, null 가능
+     * @param before 이 커서 이전(더 최신) 게시글을 조회, null 가능
+     * @param size 페이지 크기
+     * @return 이전/다음 커서를 포함한 게시글 요약 페이지
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PostSummary> getPostSummariesByCursor(Long boardId, KeysetCursor after, KeysetCursor before,
+                                                            int size) {
+        Pageable limit = PageRequest.of(0, size);
+
+        if (before != null) {
+            // 더 최신 글은 오름차순으로 가져온 뒤 뒤집어서 화면 순서(최신순)를 맞춤
+            Slice<PostSummary> slice = boardId == null
+                    ? postRepository.findSummariesNewerThan(before.getCreatedAt(), before.getId(), limit)
+                    : postRepository.findSummariesByBoardIdNewerThan(boardId, before.getCreatedAt(), before.getId(), limit);
+            if (!slice.hasNext()) {
+                // 가장 최신 구간에 도달하면 첫 페이지를 꽉 채워서 보여줌
+                return getPostSummariesByCursor(boardId, null, null, size);
+            }
+            List<PostSummary> content = new ArrayList<>(slice.getContent());
+            Collections.reverse(content);
+            return toCursorPage(content, true, slice.hasNext());
+        }
+
+        Slice<PostSummary> slice;
+        if (after != null) {
+            slice = boardId == null
+                    ? postRepository.findSummariesOlderThan(after.getCreatedAt(), after.getId(), limit)
+                    : postRepository.findSummariesByBoardIdOlderThan(boardId, after.getCreatedAt(), after.getId(), limit);
+        } else {
+            slice = boardId == null
+                    ? postRepository.findLatestSummaries(limit)
+                    : postRepository.findLatestSummariesByBoardId(boardId, limit);
+        }
+        return toCursorPage(slice.getContent(), slice.hasNext(), after != null);
+    }
+
+    private static CursorPage<PostSummary> toCursorPage(List<PostSummary> content, boolean hasOlder, boolean hasNewer) {
+        if (content.isEmpty()) {
+            return new CursorPage<>(content, null, null);
+        }
+        PostSummary first = content.get(0);
+        PostSummary last = content.get(content.size() - 1);
+        KeysetCursor next = hasOlder ? new KeysetCursor(last.getCreatedAt(), last.getId()) : null;
+        KeysetCursor previous = hasNewer ? new KeysetCursor(first.getCreatedAt(), first.getId()) : null;
+        return new CursorPage<>(content, next, previous);
     }
 
     /**
@@ -140,6 +278,35 @@ public class PostService {
         return postRepository.findByContentContaining(content, pageable);
     }
 
+    /**
+     * 전문 검색 인덱스로 제목과 내용을 함께 검색하고, 관련도 순으로 정렬된 결과를 반환합니다.
+     * 인덱스에서 해당 페이지의 게시글 ID를 구한 뒤 요약 정보를 한 번의 쿼리로 조회합니다.
+     * @param query 검색어
+     * @param pageable 페이징 정보 (정렬은 관련도 순으로 고정)
+     * @return 검색 결과 페이지
+     */
+    @Transactional(readOnly = true)
+    public Page<PostSummary> searchPosts(String query, Pageable pageable) {
+        Page<Long> hits = postSearchIndex.search(query, pageable);
+        if (hits.getContent().isEmpty()) {
+            return new PageImpl<>(new ArrayList<>(), pageable, hits.getTotalElements());
+        }
+
+        Map<Long, PostSummary> summariesById = new HashMap<>();
+        for (PostSummary summary : postRepository.findSummariesByIdIn(hits.getContent())) {
+            summariesById.put(summary.getId(), summary);
+        }
+        // 인덱스의 관련도 순서를 유지
+        List<PostSummary> results = new ArrayList<>(hits.getContent().size());
+        for (Long id : hits.getContent()) {
+            PostSummary summary = summariesById.get(id);
+            if (summary != null) {
+                results.add(summary);
+            }
+        }
+        return new PageImpl<>(results, pageable, hits.getTotalElements());
+    }
+
     /**
      * 가장 많이 조회된 게시글 목록을 페이지네이션을 적용해 조회합니다.
      * @param pageable 페이징 정보
@@ -150,6 +317,47 @@ public class PostService {
         return postRepository.findAllByOrderByViewCountDesc(pageable);
     }
 
+    /**
+     * 가장 많이 조회된 게시글 요약 목록을 조회합니다.
+     * @param pageable 페이징 정보
+     * @return 조회수 내림차순으로 정렬된 게시글 요약 리스트
+     */
+    @Transactional(readOnly = true)
+    public List<PostSummary> getMostViewedPostSummaries(Pageable pageable) {
+        return postRepository.findMostViewedSummaries(pageable);
+    }
+
+    /**
+     * 최근 조회수를 기준으로 인기 게시글 요약 목록을 조회합니다.
+     * 시간 감쇠가 적용된 인기 순위({@link PopularPostLeaderboard})에서 미리 만들어 둔 목록을 읽으므로
+     * 게시글 테이블을 정렬하지 않습니다. 아직 집계된 조회가 없을 때만 누적 조회수 순으로 대신 조회합니다.
+     * @param limit 최대 게시글 수
+     * @return 인기 순으로 정렬된 게시글 요약 리스트
+     */
+    @Transactional(readOnly = true)
+    public List<PostSummary> getPopularPostSummaries(int limit) {
+        List<PostSummary> popular = popularPostLeaderboard.getTopPosts(limit);
+        if (!popular.isEmpty()) {
+            return popular;
+        }
+        return postRepository.findMostViewedSummaries(PageRequest.of(0, limit));
+    }
+
+    /**
+     * 특정 게시판의 인기(hot) 게시글 요약 목록을 조회합니다.
+     * @param boardId 게시판 ID
+     * @param limit 최대 게시글 수
+     * @return 인기 순으로 정렬된 게시글 요약 리스트
+     */
+    @Transactional(readOnly = true)
+    public List<PostSummary> getHotPostSummaries(Long boardId, int limit) {
+        List<PostSummary> hot = popularPostLeaderboard.getTopPosts(boardId, limit);
+        if (!hot.isEmpty()) {
+            return hot;
+        }
+        return postRepository.findMostViewedSummariesByBoardId(boardId, PageRequest.of(0, limit));
+    }
+
     /**
      * 새 게시글을 생성합니다.
      * 게시글과 연결할 게시판, 작성자 정보를 검증 & 할당합니다.
@@ -173,7 +381,48 @@ public class PostService {
         post.setAuthor(author);
         post.setCreatedAt(LocalDateTime.now());
         post.setViewCount(0); // 새 글이므로 초기 조회수 설정
-        return postRepository.save(post);
+        Post savedPost = postRepository.save(post);
+        // 게시판의 게시글 수를 같은 트랜잭션에서 증가
+        boardRepository.adjustPostCount(boardId, 1);
+        eventPublisher.publishEvent(new PostChangedEvent(PostChangedEvent.Type.CREATED,
+                savedPost.getId(), boardId, savedPost.getTitle(), savedPost.getContent()));
+        return savedPost;
+    }
+
+    /**
+     * 같은 게시판과 작성자로 여러 게시글을 한 번에 생성합니다.
+     * ID를 시퀀스에서 미리 할당받으므로 INSERT가 flush 시점에 JDBC 배치로 전송되고,
+     * 게시판의 게시글 수도 한 번만 갱신합니다.
+     *
+     * @param posts 저장할 게시글 목록
+     * @param boardId 게시글이 올라갈 게시판 ID
+     * @param authorId 작성자(사용자) ID
+     * @return 저장된 게시글 목록
+     * @throws IllegalArgumentException 게시판 또는 작성자가 없을 때
+     */
+    @Transactional
+    public List<Post> createPosts(List<Post> posts, Long boardId, Long authorId) {
+        if (posts.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Board board = boardRepository.findById(boardId)
+                .orElseThrow(() -> new IllegalArgumentException("Board not found with id: " + boardId));
+        User author = userRepository.findById(authorId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + authorId));
+        LocalDateTime now = LocalDateTime.now();
+        for (Post post : posts) {
+            post.setBoard(board);
+            post.setAuthor(author);
+            post.setCreatedAt(now);
+            post.setViewCount(0);
+        }
+        List<Post> savedPosts = postRepository.saveAll(posts);
+        boardRepository.adjustPostCount(boardId, savedPosts.size());
+        for (Post savedPost : savedPosts) {
+            eventPublisher.publishEvent(new PostChangedEvent(PostChangedEvent.Type.CREATED,
+                    savedPost.getId(), boardId, savedPost.getTitle(), savedPost.getContent()));
+        }
+        return savedPosts;
     }
 
     /**
@@ -190,7 +439,10 @@ public class PostService {
         post.setTitle(postDetails.getTitle());
         post.setContent(postDetails.getContent());
         post.setUpdatedAt(LocalDateTime.now());
-        return postRepository.save(post);
+        Post savedPost = postRepository.save(post);
+        eventPublisher.publishEvent(new PostChangedEvent(PostChangedEvent.Type.UPDATED,
+                savedPost.getId(), savedPost.getBoard().getId(), savedPost.getTitle(), savedPost.getContent()));
+        return savedPost;
     }
 
     /**
@@ -200,24 +452,33 @@ public class PostService {
      */
     @Transactional
     public void deletePost(Long id) {
-        if (!postRepository.existsById(id)) {
-            throw new IllegalArgumentException("Post not found with id: " + id);
-        }
-        postRepository.deleteById(id);
+        Post post = postRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Post not found with id: " + id));
+        Long boardId = post.getBoard().getId();
+        postRepository.delete(post);
+        // 게시판의 게시글 수를 같은 트랜잭션에서 감소
+        boardRepository.adjustPostCount(boardId, -1);
+        eventPublisher.publishEvent(PostChangedEvent.deleted(id, boardId));
     }
 
     /**
-     * 게시글의 조회수(view count)를 1 증가시킵니다.
+     * 게시글의 조회수(view count)를 1 증가시키고 인기 게시글 순위에도 반영합니다.
      * 사용자가 게시글을 열람할 때마다 호출됩니다.
-     * @param id 게시글 ID
-     * @return 갱신된 게시글
-     * @throws IllegalArgumentException 게시글이 존재하지 않을 때
+     * 조회수는 메모리 버퍼({@link ViewCountBuffer})에 누적되었다가 주기적으로 일괄 반영되므로
+     * 요청 스레드에서 posts 행을 갱신하지 않습니다.
+     * @param post 조회된 게시글
      */
-    @Transactional
-    public Post incrementViewCount(Long id) {
-        Post post = postRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Post not found with id: " + id));
-        post.incrementViewCount();
-        return postRepository.save(post);
+    public void incrementViewCount(Post post) {
+        viewCountBuffer.increment(post.getId());
+        popularPostLeaderboard.recordView(post.getId(), post.getBoard().getId());
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은 조회수를 포함한 게시글의 현재 조회수를 반환합니다.
+     * @param post 게시글
+     * @return 저장된 조회수 + 버퍼에 누적된 조회수
+     */
+    public long getCurrentViewCount(Post post) {
+        return post.getViewCount() + viewCountBuffer.getPendingViews(post.getId());
     }
 }
\ No newline at end of file
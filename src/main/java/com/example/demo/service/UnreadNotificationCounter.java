@@ -0,0 +1,83 @@
+package com.example.demo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory unread notification count per user.
+ * A count is loaded from the database once and then kept current by the committed changes
+ * reported through {@link com.example.demo.event.NotificationChangedEvent}. Entries expire after a
+ * while, which bounds memory and also repairs any drift from a change racing with the initial load.
+ */
+@Component
+public class UnreadNotificationCounter {
+
+    private final Cache<Long, AtomicLong> counts;
+
+    @Autowired
+    public UnreadNotificationCounter(MeterRegistry meterRegistry,
+                                     @Value("${board.notifications.unread-count.ttl:10m}") Duration ttl,
+                                     @Value("${board.notifications.unread-count.max-size:100000}") long maxSize) {
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "unreadNotificationCounts");
+    }
+
+    /**
+     * Get the unread count of a user, loading it on a miss.
+     *
+     * @param userId the user ID
+     * @param loader counts the unread notifications in the database
+     * @return the unread count
+     */
+    public long get(Long userId, LongSupplier loader) {
+        return counts.get(userId, id -> new AtomicLong(loader.getAsLong())).get();
+    }
+
+    /**
+     * Adjust a cached count. Users without a cached count are left alone; their count
+     * is loaded from the database when next needed.
+     *
+     * @param userId the user ID
+     * @param delta the amount to add (negative to subtract)
+     * @return the new count, or -1 if the count is not cached
+     */
+    public long adjust(Long userId, long delta) {
+        AtomicLong count = counts.getIfPresent(userId);
+        if (count == null) {
+            return -1;
+        }
+        return count.updateAndGet(current -> Math.max(0, current + delta));
+    }
+
+    /**
+     * Set the count of a user to a known value.
+     *
+     * @param userId the user ID
+     * @param value the unread count
+     */
+    public void set(Long userId, long value) {
+        counts.put(userId, new AtomicLong(value));
+    }
+
+    /**
+     * Forget the cached count of a user.
+     *
+     * @param userId the user ID
+     */
+    public void invalidate(Long userId) {
+        counts.invalidate(userId);
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.demo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory Bloom filters of the usernames and emails that are taken.
+ * A negative answer means the value is definitely available, so live availability checks
+ * are answered without a query; only a positive (possibly false) answer needs the database.
+ * Bloom filters cannot forget values, so renamed or deleted users linger as false positives
+ * until the periodic rebuild, which also resizes the filters to the current user count.
+ */
+@Component
+public class UserAvailabilityFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(UserAvailabilityFilter.class);
+
+    private static final String SELECT_TAKEN_SQL = "SELECT username, email FROM users";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int minCapacity;
+    private final double falsePositiveRate;
+
+    private final Object rebuildLock = new Object();
+    private volatile Filters current;
+    // Values added while a rebuild scans the table also go here, so the swap loses nothing
+    private volatile Filters rebuilding;
+
+    private final Counter definitelyAvailable;
+    private final Counter possiblyTaken;
+
+    @Autowired
+    public UserAvailabilityFilter(JdbcTemplate jdbcTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${board.users.availability-filter.min-capacity:10000}") int minCapacity,
+                                  @Value("${board.users.availability-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.minCapacity = minCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+
+        this.definitelyAvailable = Counter.builder("board.users.availability.filter")
+                .tag("result", "available")
+                .description("Availability checks answered by the Bloom filter alone")
+                .register(meterRegistry);
+        this.possiblyTaken = Counter.builder("board.users.availability.filter")
+                .tag("result", "possibly-taken")
+                .description("Availability checks that had to query the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Check whether a username might be taken.
+     *
+     * @param username the username
+     * @return false if the username is definitely available, true if it may be taken
+     *         (or the filter has not been built yet)
+     */
+    public boolean mightHaveUsername(String username) {
+        Filters filters = current;
+        return record(filters == null || filters.usernames.mightContain(username));
+    }
+
+    /**
+     * Check whether an email might be taken.
+     *
+     * @param email the email
+     * @return false if the email is definitely available, true if it may be taken
+     *         (or the filter has not been built yet)
+     */
+    public boolean mightHaveEmail(String email) {
+        Filters filters = current;
+        return record(filters == null || filters.emails.mightContain(email));
+    }
+
+    /**
+     * Record a newly taken username and email.
+     *
+     * @param username the username
+     * @param email the email
+     */
+    public void add(String username, String email) {
+        Filters filters = current;
+        if (filters != null) {
+            filters.add(username, email);
+        }
+        Filters next = rebuilding;
+        if (next != null) {
+            next.add(username, email);
+        }
+    }
+
+    /**
+     * Build the filters from the users table at startup and rebuild them periodically,
+     * dropping values that are no longer taken.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${board.users.availability-filter.rebuild-interval-ms:21600000}",
+            initialDelayString = "${board.users.availability-filter.rebuild-interval-ms:21600000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+            // Leave room for growth until the next rebuild
+            long capacity = Math.max(minCapacity, (count != null ? count : 0) * 2);
+            Filters next = new Filters(capacity, falsePositiveRate);
+            rebuilding = next;
+            try {
+                jdbcTemplate.query(SELECT_TAKEN_SQL, rs -> {
+                    next.add(rs.getString(1), rs.getString(2));
+                });
+                current = next;
+            } finally {
+                rebuilding = null;
+            }
+            log.info("Rebuilt user availability filter for {} user(s) ({} bits per filter)", count,
+                    next.usernames.bitSize());
+        }
+    }
+
+    private boolean record(boolean mightContain) {
+        (mightContain ? possiblyTaken : definitelyAvailable).increment();
+        return mightContain;
+    }
+
+    private static final class Filters {
+        private final BloomFilter usernames;
+        private final BloomFilter emails;
+
+        private Filters(long capacity, double falsePositiveRate) {
+            this.usernames = new BloomFilter(capacity, falsePositiveRate);
+            this.emails = new BloomFilter(capacity, falsePositiveRate);
+        }
+
+        private void add(String username, String email) {
+            usernames.put(username);
+            emails.put(email);
+        }
+    }
+
+    /**
+     * Thread-safe Bloom filter over strings, sized for an expected number of values and a
+     * target false positive rate. Uses double hashing over two 64-bit hashes of the UTF-8 bytes.
+     */
+    static final class BloomFilter {
+        private final AtomicLongArray words;
+        private final long bits;
+        private final int hashes;
+
+        BloomFilter(long expected, double falsePositiveRate) {
+            long n = Math.max(1, expected);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64);
+            this.words = new AtomicLongArray(wordCount);
+            this.bits = (long) wordCount * 64;
+            this.hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        }
+
+        void put(String value) {
+            if (value == null) {
+                return;
+            }
+            long h1 = hash(value, 0x9E3779B97F4A7C15L);
+            long h2 = hash(value, 0xC2B2AE3D27D4EB4FL) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bits);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long previous;
+                do {
+                    previous = words.get(word);
+                } while ((previous & mask) == 0 && !words.compareAndSet(word, previous, previous | mask));
+            }
+        }
+
+        boolean mightContain(String value) {
+            if (value == null) {
+                return false;
+            }
+            long h1 = hash(value, 0x9E3779B97F4A7C15L);
+            long h2 = hash(value, 0xC2B2AE3D27D4EB4FL) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long bitSize() {
+            return bits;
+        }
+
+        // FNV-1a style byte mixing with a seed, finished with the SplitMix64 avalanche
+        private static long hash(String value, long seed) {
+            long h = seed;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                h ^= b & 0xff;
+                h *= 0x100000001B3L;
+            }
+            h ^= h >>> 30;
+            h *= 0xBF58476D1CE4E5B9L;
+            h ^= h >>> 27;
+            h *= 0x94D049BB133111EBL;
+            return h ^ (h >>> 31);
+        }
+    }
+}
@@ -1,14 +1,21 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.UserSummary;
+import com.example.demo.event.UserChangedEvent;
 import com.example.demo.model.User;
 import com.example.demo.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 /**
@@ -19,11 +26,19 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LastLoginTracker lastLoginTracker;
+    private final UserAvailabilityFilter availabilityFilter;
 
     @Autowired
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       ApplicationEventPublisher eventPublisher, LastLoginTracker lastLoginTracker,
+                       UserAvailabilityFilter availabilityFilter) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
+        this.lastLoginTracker = lastLoginTracker;
+        this.availabilityFilter = availabilityFilter;
     }
 
     /**
@@ -36,6 +51,28 @@ public class UserService {
         return userRepository.findAll();
     }
 
+    /**
+     * Get one page of the user directory, optionally limited to users whose username
+     * starts with a prefix, or whose email does if the prefix contains '@'.
+     * Searching one column at a time keeps each search on that column's index.
+     * Only summary columns are loaded.
+     *
+     * @param prefix the username prefix, or an email prefix containing '@', or null/blank for all users
+     * @param pageable pagination and sorting information
+     * @return a page of user summaries
+     */
+    @Transactional(readOnly = true)
+    public Page<UserSummary> getUserDirectory(String prefix, Pageable pageable) {
+        if (prefix == null || prefix.trim().isEmpty()) {
+            return userRepository.findSummaries(pageable);
+        }
+        String from = prefix.trim();
+        String to = from + Character.MAX_VALUE;
+        return from.indexOf('@') >= 0
+                ? userRepository.findSummariesByEmailInRange(from, to, pageable)
+                : userRepository.findSummariesByUsernameInRange(from, to, pageable);
+    }
+
     /**
      * Get a user by ID.
      *
@@ -78,15 +115,8 @@ public class UserService {
      */
     @Transactional
     public User registerUser(User user) {
-        // Check if username is already taken
-        if (userRepository.existsByUsername(user.getUsername())) {
-            throw new IllegalArgumentException("Username is already taken: " + user.getUsername());
-        }
-
-        // Check if email is already taken
-        if (userRepository.existsByEmail(user.getEmail())) {
-            throw new IllegalArgumentException("Email is already in use: " + user.getEmail());
-        }
+        // One query for both values; the unique constraints catch anything that races past it
+        checkAvailable(user.getUsername(), user.getEmail(), null);
 
         // Set creation time
         user.setCreatedAt(LocalDateTime.now());
@@ -94,7 +124,33 @@ public class UserService {
         // Encrypt the password
         user.setPassword(passwordEncoder.encode(user.getPassword()));
 
-        return userRepository.save(user);
+        User savedUser = saveAndFlush(user);
+        availabilityFilter.add(savedUser.getUsername(), savedUser.getEmail());
+        return savedUser;
+    }
+
+    /**
+     * Check whether a username is available.
+     * Usernames the Bloom filter has never seen are answered without a query.
+     *
+     * @param username the username to check
+     * @return true if no user has the username
+     */
+    @Transactional(readOnly = true)
+    public boolean isUsernameAvailable(String username) {
+        return !availabilityFilter.mightHaveUsername(username) || !userRepository.existsByUsername(username);
+    }
+
+    /**
+     * Check whether an email is available.
+     * Emails the Bloom filter has never seen are answered without a query.
+     *
+     * @param email the email to check
+     * @return true if no user has the email
+     */
+    @Transactional(readOnly = true)
+    public boolean isEmailAvailable(String email) {
+        return !availabilityFilter.mightHaveEmail(email) || !userRepository.existsByEmail(email);
     }
 
     /**
@@ -110,18 +166,12 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + id));
 
-        // Check if username is being changed and if the new username is already taken
-        if (!user.getUsername().equals(userDetails.getUsername()) && 
-                userRepository.existsByUsername(userDetails.getUsername())) {
-            throw new IllegalArgumentException("Username is already taken: " + userDetails.getUsername());
-        }
-
-        // Check if email is being changed and if the new email is already taken
-        if (!user.getEmail().equals(userDetails.getEmail()) && 
-                userRepository.existsByEmail(userDetails.getEmail())) {
-            throw new IllegalArgumentException("Email is already in use: " + userDetails.getEmail());
+        // Only a changed username or email can conflict, and both are checked in one query
+        if (!user.getUsername().equals(userDetails.getUsername()) || !user.getEmail().equals(userDetails.getEmail())) {
+            checkAvailable(userDetails.getUsername(), userDetails.getEmail(), id);
         }
 
+        String previousUsername = user.getUsername();
         user.setUsername(userDetails.getUsername());
         user.setEmail(userDetails.getEmail());
 
@@ -136,7 +186,10 @@ public class UserService {
         user.setBio(userDetails.getBio());
         user.setThemePreference(userDetails.getThemePreference());
 
-        return userRepository.save(user);
+        User savedUser = saveAndFlush(user);
+        availabilityFilter.add(savedUser.getUsername(), savedUser.getEmail());
+        eventPublisher.publishEvent(new UserChangedEvent(id, previousUsername, savedUser.getUsername()));
+        return savedUser;
     }
 
     /**
@@ -147,25 +200,21 @@ public class UserService {
      */
     @Transactional
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new IllegalArgumentException("User not found with id: " + id);
-        }
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + id));
+        userRepository.delete(user);
+        eventPublisher.publishEvent(new UserChangedEvent(id, user.getUsername()));
     }
 
     /**
      * Update a user's last login time.
+     * The time is buffered and written by the next {@link LastLoginTracker} flush;
+     * an unknown ID simply updates no row.
      *
      * @param id the ID of the user
-     * @throws IllegalArgumentException if the user doesn't exist
      */
-    @Transactional
     public void updateLastLogin(Long id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + id));
-
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
+        lastLoginTracker.record(id);
     }
 
     /**
@@ -201,6 +250,36 @@ public class UserService {
 
         user.setProfileImageUrl(profileImageUrl);
         user.setBio(bio);
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(id, savedUser.getUsername()));
+        return savedUser;
+    }
+
+    private void checkAvailable(String username, String email, Long excludeId) {
+        List<UserSummary> conflicts = userRepository.findConflicts(username, email, excludeId);
+        for (UserSummary conflict : conflicts) {
+            if (conflict.getUsername().equals(username)) {
+                throw new IllegalArgumentException("Username is already taken: " + username);
+            }
+        }
+        if (!conflicts.isEmpty()) {
+            throw new IllegalArgumentException("Email is already in use: " + email);
+        }
+    }
+
+    // Flush so a unique constraint violation surfaces here, where it can be mapped to a field
+    private User saveAndFlush(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            String message = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+            if (message.contains(User.USERNAME_CONSTRAINT)) {
+                throw new IllegalArgumentException("Username is already taken: " + user.getUsername());
+            }
+            if (message.contains(User.EMAIL_CONSTRAINT)) {
+                throw new IllegalArgumentException("Email is already in use: " + user.getEmail());
+            }
+            throw e;
+        }
     }
 }
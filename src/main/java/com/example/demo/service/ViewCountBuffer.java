@@ -0,0 +1,172 @@
+package com.example.demo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind buffer for post view counts.
+ * Views are absorbed by a striped LongAdder per post and the accumulated deltas are
+ * written to posts.view_count in periodic batched updates, so a page view never takes
+ * a row lock on the request thread.
+ */
+@Component
+public class ViewCountBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(ViewCountBuffer.class);
+
+    private static final String FLUSH_SQL = "UPDATE posts SET view_count = view_count + ? WHERE id = ?";
+
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final Timer flushTimer;
+    private final Counter flushedViews;
+    private final Counter failedFlushes;
+
+    @Autowired
+    public ViewCountBuffer(JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${board.view-count.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+
+        Gauge.builder("board.view_count.pending.posts", pending, Map::size)
+                .description("Posts with view count deltas waiting to be flushed")
+                .register(meterRegistry);
+        Gauge.builder("board.view_count.pending.views", this, ViewCountBuffer::getTotalPendingViews)
+                .description("Views recorded in memory but not yet written to the database")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("board.view_count.flush")
+                .description("Time taken to write buffered view counts")
+                .register(meterRegistry);
+        this.flushedViews = Counter.builder("board.view_count.flushed")
+                .description("Views written to the database")
+                .register(meterRegistry);
+        this.failedFlushes = Counter.builder("board.view_count.flush.failures")
+                .description("Flushes that failed and were re-queued")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record a single view of a post.
+     *
+     * @param postId the ID of the viewed post
+     */
+    public void increment(Long postId) {
+        pending.computeIfAbsent(postId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Get the number of views recorded for a post that have not been flushed yet.
+     *
+     * @param postId the post ID
+     * @return the pending view delta
+     */
+    public long getPendingViews(Long postId) {
+        LongAdder adder = pending.get(postId);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    /**
+     * Get the total number of views that have not been flushed yet.
+     *
+     * @return the pending view delta across all posts
+     */
+    public long getTotalPendingViews() {
+        long total = 0;
+        for (LongAdder adder : pending.values()) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Write all accumulated deltas to the database in batched updates.
+     * Runs on a fixed delay, so the time a view stays in memory is bounded by the flush interval.
+     */
+    @Scheduled(fixedDelayString = "${board.view-count.flush-interval-ms:5000}")
+    public void flush() {
+        synchronized (flushLock) {
+            List<Object[]> deltas = drain();
+            if (deltas.isEmpty()) {
+                return;
+            }
+
+            try {
+                flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+                    for (int from = 0; from < deltas.size(); from += batchSize) {
+                        int to = Math.min(from + batchSize, deltas.size());
+                        jdbcTemplate.batchUpdate(FLUSH_SQL, deltas.subList(from, to));
+                    }
+                }));
+                flushedViews.increment(sum(deltas));
+            } catch (DataAccessException e) {
+                // The whole flush rolled back, so the deltas can safely be put back for the next run
+                log.warn("Failed to flush {} view count deltas, re-queueing", deltas.size(), e);
+                failedFlushes.increment();
+                requeue(deltas);
+            }
+        }
+    }
+
+    /**
+     * Flush remaining deltas before the application context (and its DataSource) shuts down.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private List<Object[]> drain() {
+        List<Object[]> deltas = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta == 0) {
+                // Idle post: drop the adder so the map only holds recently viewed posts.
+                // A view racing with this removal can be lost, which is acceptable for a view counter.
+                pending.remove(entry.getKey(), entry.getValue());
+                continue;
+            }
+            deltas.add(new Object[] {delta, entry.getKey()});
+        }
+        return deltas;
+    }
+
+    private void requeue(List<Object[]> deltas) {
+        for (Object[] args : deltas) {
+            pending.computeIfAbsent((Long) args[1], id -> new LongAdder()).add((Long) args[0]);
+        }
+    }
+
+    private static long sum(List<Object[]> deltas) {
+        long total = 0;
+        for (Object[] args : deltas) {
+            total += (Long) args[0];
+        }
+        return total;
+    }
+}
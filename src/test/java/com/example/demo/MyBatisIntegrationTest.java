@@ -1,5 +1,6 @@
 package com.example.demo;
 
+import com.example.demo.dto.UserUpdate;
 import com.example.demo.mapper.UserMapper;
 import com.example.demo.model.User;
 import com.example.demo.service.MyBatisUserService;
@@ -75,8 +76,9 @@ public class MyBatisIntegrationTest {
         User savedUser = myBatisUserService.registerUser(user);
         
         // Update the user
-        User updatedDetails = new User("updateuser", "newpassword", "newemail@example.com");
-        updatedDetails.setId(savedUser.getId());
+        UserUpdate updatedDetails = new UserUpdate();
+        updatedDetails.setPassword("newpassword");
+        updatedDetails.setEmail("newemail@example.com");
         
         User updatedUser = myBatisUserService.updateUser(savedUser.getId(), updatedDetails);
         
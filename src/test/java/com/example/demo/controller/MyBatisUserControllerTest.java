@@ -0,0 +1,79 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.User;
+import com.example.demo.service.MyBatisUserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration test for the streamed user export.
+ * Not transactional: the export reads the users on an async thread, so they have to be committed.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+public class MyBatisUserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MyBatisUserService myBatisUserService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @AfterEach
+    public void cleanUp() {
+        if (user != null) {
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+        }
+    }
+
+    @Test
+    public void testExportStreamsUsersWithExplicitTimeout() throws Exception {
+        user = myBatisUserService.registerUser(new User("exportuser", "password123", "exportuser@example.com"));
+
+        MvcResult result = mockMvc.perform(get("/api/mybatis/users/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(TimeUnit.MINUTES.toMillis(30), result.getRequest().getAsyncContext().getTimeout(),
+                "The export should not be cut off by the container's default async timeout");
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", containsString("users.csv")))
+                .andExpect(content().string(containsString("id,username,email,created_at,last_login\r\n")))
+                .andExpect(content().string(containsString(
+                        user.getId() + ",exportuser,exportuser@example.com,")))
+                .andExpect(content().string(not(containsString("password123"))));
+    }
+
+    @Test
+    public void testExportRejectsUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/mybatis/users/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,336 @@
+package com.example.demo.load;
+
+import com.example.demo.search.PostSearchIndex;
+import com.example.demo.service.DatasetGenerator;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end load test of the main pages over HTTP.
+ * Boots the application on a random port with a generated dataset, logs users in through the form
+ * login, then sends a weighted mix of requests at a fixed target rate from a pool of client threads.
+ * Latency is measured from each request's scheduled start, so when the server falls behind, the
+ * queued requests are charged for the wait instead of silently lowering the offered load.
+ * <p>
+ * Writes one HdrHistogram percentile distribution (.hgrm) per endpoint and fails when the error rate
+ * or an endpoint's p50/p99 exceeds its budget. Tagged "load" and excluded from the regular test run;
+ * run it with {@code ./gradlew loadTest}, passing options as {@code -Pload.<name>=<value>}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false"})
+public class HttpLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpLoadTest.class);
+
+    private static final long SEED = 42L;
+    private static final Pattern CSRF_FIELD = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final long HIGHEST_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final int USERS = intSetting("load.users", 50);
+    private static final int THREADS = intSetting("load.threads", 32);
+    private static final int RATE = intSetting("load.rate", 200);
+    private static final Duration WARMUP = durationSetting("load.warmup", "10s");
+    private static final Duration DURATION = durationSetting("load.duration", "30s");
+    private static final int POSTS = intSetting("load.posts", 50000);
+    private static final String MIX = setting("load.mix", "home=2,posts=3,post=4,search=1,notifications-count=3");
+    private static final double MAX_ERROR_RATE = Double.parseDouble(setting("load.max-error-rate", "0.001"));
+    private static final File REPORT_DIR = new File(setting("load.report-dir", "build/reports/load"));
+
+    /**
+     * The pages under test; the budget of each can be overridden with load.budget.&lt;name&gt;.p50/p99.
+     */
+    private enum Endpoint {
+        HOME("home"),
+        POSTS("posts"),
+        POST("post"),
+        SEARCH("search"),
+        NOTIFICATIONS_COUNT("notifications-count");
+
+        private final String key;
+
+        Endpoint(String key) {
+            this.key = key;
+        }
+
+        static Endpoint of(String key) {
+            for (Endpoint endpoint : values()) {
+                if (endpoint.key.equals(key)) {
+                    return endpoint;
+                }
+            }
+            throw new IllegalArgumentException("Unknown endpoint in load.mix: " + key);
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DatasetGenerator datasetGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+
+    private final ExecutorService clientExecutor = Executors.newCachedThreadPool();
+    private final Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, AtomicLong> errors = new EnumMap<>(Endpoint.class);
+
+    private long[] postIds;
+    private List<String> searchWords;
+    private List<HttpClient> sessions;
+
+    @AfterEach
+    public void tearDown() {
+        clientExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testLatencyBudgetsUnderLoad() throws Exception {
+        datasetGenerator.generate(20, Math.max(USERS, 1000), POSTS, POSTS / 2, SEED);
+        // Searches against an empty index would measure nothing but the miss path
+        assertTrue(postSearchIndex.size() >= POSTS, "The generated posts should be searchable");
+        postIds = jdbcTemplate.queryForList("SELECT id FROM posts", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+        searchWords = new ArrayList<>(DatasetGenerator.ENGLISH_WORDS);
+        searchWords.addAll(DatasetGenerator.KOREAN_WORDS);
+
+        sessions = new ArrayList<>(USERS);
+        for (String username : jdbcTemplate.queryForList(
+                "SELECT username FROM users ORDER BY id LIMIT ?", String.class, USERS)) {
+            sessions.add(login(username));
+        }
+        assertEquals(USERS, sessions.size(), "Enough users should exist to log in");
+
+        Endpoint[] mix = parseMix(MIX);
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, new ConcurrentHistogram(HIGHEST_LATENCY_NANOS, 3));
+            errors.put(endpoint, new AtomicLong());
+        }
+
+        log.info("Load test: {} req/s from {} threads over {} sessions, {} warmup, {} measured, mix {}",
+                RATE, THREADS, USERS, WARMUP, DURATION, MIX);
+        ExecutorService workers = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureFrom = start + WARMUP.toNanos();
+        long end = measureFrom + DURATION.toNanos();
+        List<Future<?>> running = new ArrayList<>(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            running.add(workers.submit(() -> drive(thread, mix, start, measureFrom, end)));
+        }
+        for (Future<?> worker : running) {
+            worker.get();
+        }
+        workers.shutdown();
+
+        report(DURATION);
+    }
+
+    // Sends this thread's share of the schedule; request k of thread t is due at slot k * THREADS + t
+    private void drive(int thread, Endpoint[] mix, long start, long measureFrom, long end) {
+        Random random = new Random(SEED + thread);
+        for (long k = 0; ; k++) {
+            long intended = start + (k * THREADS + thread) * 1_000_000_000L / RATE;
+            if (intended >= end) {
+                return;
+            }
+            long delay = intended - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+
+            Endpoint endpoint = mix[random.nextInt(mix.length)];
+            HttpRequest request = HttpRequest.newBuilder(uri(path(endpoint, random)))
+                    .timeout(REQUEST_TIMEOUT).GET().build();
+            boolean ok;
+            try {
+                HttpResponse<Void> response = sessions.get(random.nextInt(sessions.size()))
+                        .send(request, HttpResponse.BodyHandlers.discarding());
+                ok = response.statusCode() == 200;
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (intended >= measureFrom) {
+                latencies.get(endpoint).recordValue(Math.min(System.nanoTime() - intended, HIGHEST_LATENCY_NANOS));
+                if (!ok) {
+                    errors.get(endpoint).incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private String path(Endpoint endpoint, Random random) {
+        switch (endpoint) {
+            case HOME:
+                return "/";
+            case POSTS:
+                return "/posts?page=" + random.nextInt(10);
+            case POST:
+                return "/posts/" + postIds[random.nextInt(postIds.length)];
+            case SEARCH:
+                return "/posts/search?query="
+                        + URLEncoder.encode(searchWords.get(random.nextInt(searchWords.size())), StandardCharsets.UTF_8);
+            case NOTIFICATIONS_COUNT:
+                return "/notifications/count";
+            default:
+                throw new IllegalArgumentException("Unknown endpoint: " + endpoint);
+        }
+    }
+
+    private HttpClient login(String username) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .executor(clientExecutor)
+                .build();
+
+        String loginPage = client.send(HttpRequest.newBuilder(uri("/login")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+        Matcher csrf = CSRF_FIELD.matcher(loginPage);
+        assertTrue(csrf.find(), "The login page should contain a CSRF token");
+
+        String form = "username=" + URLEncoder.encode(username, StandardCharsets.UTF_8)
+                + "&password=" + URLEncoder.encode(DatasetGenerator.PASSWORD, StandardCharsets.UTF_8)
+                + "&_csrf=" + URLEncoder.encode(csrf.group(1), StandardCharsets.UTF_8);
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri("/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        String location = response.headers().firstValue("Location").orElse("");
+        assertEquals(302, response.statusCode(), "Login should redirect");
+        assertFalse(location.contains("error"), "Login of " + username + " should succeed");
+        return client;
+    }
+
+    private void report(Duration measured) throws IOException {
+        if (!REPORT_DIR.isDirectory() && !REPORT_DIR.mkdirs()) {
+            throw new IOException("Cannot create " + REPORT_DIR);
+        }
+        long totalRequests = 0;
+        long totalErrors = 0;
+        List<Executable> budgets = new ArrayList<>();
+        log.info(String.format("%-20s %8s %7s %9s %9s %9s %9s %9s",
+                "endpoint", "requests", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = latencies.get(endpoint);
+            long requests = histogram.getTotalCount();
+            if (requests == 0) {
+                continue;
+            }
+            long failed = errors.get(endpoint).get();
+            totalRequests += requests;
+            totalErrors += failed;
+            log.info(String.format("%-20s %8d %7d %9.2f %9.2f %9.2f %9.2f %9.2f", endpoint.key, requests, failed,
+                    millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1e6));
+            try (PrintStream out = new PrintStream(new File(REPORT_DIR, endpoint.key + ".hgrm"), "UTF-8")) {
+                histogram.outputPercentileDistribution(out, 1e6);
+            }
+
+            Duration p50Budget = durationSetting("load.budget." + endpoint.key + ".p50",
+                    setting("load.budget.p50", "50ms"));
+            Duration p99Budget = durationSetting("load.budget." + endpoint.key + ".p99",
+                    setting("load.budget.p99", "250ms"));
+            double p50 = millis(histogram, 50);
+            double p99 = millis(histogram, 99);
+            budgets.add(() -> assertTrue(p50 <= p50Budget.toMillis(),
+                    endpoint.key + " p50 " + p50 + " ms should be within " + p50Budget.toMillis() + " ms"));
+            budgets.add(() -> assertTrue(p99 <= p99Budget.toMillis(),
+                    endpoint.key + " p99 " + p99 + " ms should be within " + p99Budget.toMillis() + " ms"));
+        }
+
+        double errorRate = totalRequests == 0 ? 1 : (double) totalErrors / totalRequests;
+        log.info("Achieved {} req/s of {} target, error rate {}, reports in {}",
+                totalRequests * 1000 / Math.max(1, measured.toMillis()), RATE, errorRate, REPORT_DIR.getAbsolutePath());
+        budgets.add(() -> assertTrue(errorRate <= MAX_ERROR_RATE,
+                "Error rate " + errorRate + " should be within " + MAX_ERROR_RATE));
+        assertAll("latency budgets", budgets);
+    }
+
+    // Expands "home=2,post=4" into an array where each endpoint appears as often as its weight
+    private static Endpoint[] parseMix(String mix) {
+        List<Endpoint> weighted = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            Endpoint endpoint = Endpoint.of(parts[0].trim());
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            for (int i = 0; i < weight; i++) {
+                weighted.add(endpoint);
+            }
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("load.mix selects no endpoints: " + mix);
+        }
+        return weighted.toArray(new Endpoint[0]);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1e6;
+    }
+
+    private static String setting(String name, String defaultValue) {
+        String value = System.getProperty(name);
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+
+    private static int intSetting(String name, int defaultValue) {
+        return Integer.parseInt(setting(name, String.valueOf(defaultValue)));
+    }
+
+    private static Duration durationSetting(String name, String defaultValue) {
+        return DurationStyle.detectAndParse(setting(name, defaultValue));
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.demo.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+/** Test class for the in-memory post search index. */
+public class PostSearchIndexTest {
+
+  private static final Long BOARD = 10L;
+
+  /** Test that Korean runs are split into bigrams and other words are lower-cased. */
+  @Test
+  public void testTokenize() {
+    List<String> tokens = NgramTokenizer.tokenize("스프링 Boot 게시판");
+    assertEquals(Arrays.asList("스프", "프링", "boot", "게시", "시판"), tokens);
+  }
+
+  /** Test that a Korean word matches regardless of the particle attached to it. */
+  @Test
+  public void testKoreanWordMatchesWithParticle() {
+    PostSearchIndex index = new PostSearchIndex();
+    index.index(1L, BOARD, "공지사항", "게시판에서 글을 작성하는 방법");
+    index.index(2L, BOARD, "잡담", "오늘 날씨가 좋네요");
+
+    Page<Long> hits = index.search("게시판", PageRequest.of(0, 10));
+    assertEquals(Arrays.asList(1L), hits.getContent());
+  }
+
+  /** Test that all query terms must match. */
+  @Test
+  public void testConjunctiveQuery() {
+    PostSearchIndex index = new PostSearchIndex();
+    index.index(1L, BOARD, "Spring tips", "Using JPA with Spring");
+    index.index(2L, BOARD, "Spring news", "Nothing about persistence");
+
+    Page<Long> hits = index.search("spring jpa", PageRequest.of(0, 10));
+    assertEquals(Arrays.asList(1L), hits.getContent());
+  }
+
+  /** Test that title matches rank above content-only matches. */
+  @Test
+  public void testTitleMatchesRankFirst() {
+    PostSearchIndex index = new PostSearchIndex();
+    index.index(1L, BOARD, "Other", "A post that mentions mybatis once");
+    index.index(2L, BOARD, "MyBatis guide", "A post about mapping");
+
+    Page<Long> hits = index.search("mybatis", PageRequest.of(0, 10));
+    assertEquals(Arrays.asList(2L, 1L), hits.getContent());
+  }
+
+  /** Test that updated and removed posts are reflected in results. */
+  @Test
+  public void testReindexAndRemove() {
+    PostSearchIndex index = new PostSearchIndex();
+    index.index(1L, BOARD, "Gradle", "Build tool");
+    index.index(1L, BOARD, "Maven", "Build tool");
+
+    assertTrue(index.search("gradle", PageRequest.of(0, 10)).isEmpty());
+    assertEquals(1, index.search("maven", PageRequest.of(0, 10)).getTotalElements());
+
+    index.remove(1L);
+    assertTrue(index.search("maven", PageRequest.of(0, 10)).isEmpty());
+    assertEquals(0, index.size());
+  }
+
+  /** Test that results are paginated with the total hit count. */
+  @Test
+  public void testPagination() {
+    PostSearchIndex index = new PostSearchIndex();
+    for (long id = 1; id <= 25; id++) {
+      index.index(id, BOARD, "Post " + id, "같은 내용");
+    }
+
+    Page<Long> hits = index.search("내용", PageRequest.of(2, 10));
+    assertEquals(25, hits.getTotalElements());
+    assertEquals(3, hits.getTotalPages());
+    assertEquals(5, hits.getContent().size());
+  }
+
+  /** Test that pages ranked from a bounded top list line up with the full ranking. */
+  @Test
+  public void testPagesFollowFullRanking() {
+    PostSearchIndex index = new PostSearchIndex();
+    for (long id = 1; id <= 20; id++) {
+      String content = String.join(" ", Collections.nCopies((int) (id % 4) + 1, "spring"));
+      index.index(id, BOARD, id % 3 == 0 ? "Spring" : "Post", content + " filler");
+    }
+
+    List<Long> all = index.search("spring", PageRequest.of(0, 20)).getContent();
+    List<Long> paged = new ArrayList<>();
+    for (int page = 0; page < 7; page++) {
+      Page<Long> hits = index.search("spring", PageRequest.of(page, 3));
+      assertEquals(20, hits.getTotalElements());
+      paged.addAll(hits.getContent());
+    }
+    assertEquals(all, paged);
+  }
+
+  /** Test that deleting a board removes its posts from the results and the total. */
+  @Test
+  public void testRemoveBoard() {
+    PostSearchIndex index = new PostSearchIndex();
+    index.index(1L, BOARD, "Spring", "First board");
+    index.index(2L, 20L, "Spring", "Second board");
+
+    assertEquals(1, index.removeBoard(BOARD));
+    Page<Long> hits = index.search("spring", PageRequest.of(0, 10));
+    assertEquals(Arrays.asList(2L), hits.getContent());
+    assertEquals(1, hits.getTotalElements());
+  }
+
+  /** Test that a rebuild cannot add back posts removed after it read them. */
+  @Test
+  public void testRebuildSkipsPostsRemovedMeanwhile() {
+    PostSearchIndex index = new PostSearchIndex();
+    index.startRebuild();
+    // Deleted after the rebuild read the rows but before it indexed them
+    index.remove(1L);
+    index.removeBoard(20L);
+    index.indexIfAbsent(1L, BOARD, "Deleted post", "Gone");
+    index.indexIfAbsent(2L, 20L, "Post of a deleted board", "Gone");
+    index.indexIfAbsent(3L, BOARD, "Kept post", "Gone");
+    index.finishRebuild();
+
+    assertEquals(Arrays.asList(3L), index.search("gone", PageRequest.of(0, 10)).getContent());
+
+    index.indexIfAbsent(1L, BOARD, "Recreated", "Gone");
+    assertEquals(2, index.size(), "Removals are only remembered while the rebuild runs");
+  }
+}
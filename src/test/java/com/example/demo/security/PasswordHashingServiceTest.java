@@ -0,0 +1,50 @@
+package com.example.demo.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+public class PasswordHashingServiceTest {
+
+  private final PasswordHashingService service = new PasswordHashingService(2, 8, 5);
+
+  @AfterEach
+  public void tearDown() {
+    service.shutdown();
+  }
+
+  /** Test that a hash made on the pool verifies and carries the configured strength. */
+  @Test
+  public void testEncodeAndMatch() {
+    String hash = service.encode("secret");
+
+    assertEquals(5, PasswordHashingService.strengthOf(hash), "The hash should use the configured strength");
+    assertTrue(service.matches("secret", hash), "The right password should match");
+    assertFalse(service.matches("wrong", hash), "A wrong password should not match");
+  }
+
+  /** Test that only hashes with a lower work factor are flagged for rehashing. */
+  @Test
+  public void testWeakerStrengthNeedsUpgrade() {
+    String weaker = new BCryptPasswordEncoder(4).encode("secret");
+    String stronger = new BCryptPasswordEncoder(6).encode("secret");
+
+    assertTrue(service.matches("secret", weaker), "A weaker hash should still verify");
+    assertTrue(service.upgradeEncoding(weaker), "A weaker hash should be upgraded");
+    assertTrue(service.matches("secret", stronger), "A stronger hash should still verify");
+    assertFalse(service.upgradeEncoding(stronger), "A stronger hash should never be downgraded");
+    assertFalse(service.upgradeEncoding(service.encode("secret")), "A current hash should be kept");
+  }
+
+  /** Test that values that are not BCrypt hashes are not parsed as a work factor. */
+  @Test
+  public void testStrengthOfNonBcryptValue() {
+    assertEquals(-1, PasswordHashingService.strengthOf("plain-text"), "Plain text has no strength");
+    assertEquals(-1, PasswordHashingService.strengthOf(null), "Null has no strength");
+    assertFalse(service.upgradeEncoding("plain-text"), "Unknown formats should not be rehashed");
+  }
+}
@@ -0,0 +1,158 @@
+package com.example.demo.security;
+
+import com.example.demo.model.User;
+import com.example.demo.service.CustomUserDetailsService;
+import com.example.demo.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
+import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.authenticated;
+
+/**
+ * Integration test for the login user cache and the slim session principal.
+ * Not transactional: cache entries are only evicted after a user change commits.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class UserCacheIntegrationTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private CustomUserDetailsService userDetailsService;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    @AfterEach
+    public void cleanUp() {
+        for (Long id : userIds) {
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", id);
+        }
+    }
+
+    @Test
+    public void testSecondLoginIsServedFromCache() throws Exception {
+        User user = register("cachelogin");
+
+        mockMvc.perform(formLogin().user(user.getUsername()).password(PASSWORD))
+                .andExpect(authenticated());
+        mockMvc.perform(formLogin().user(user.getUsername()).password(PASSWORD))
+                .andExpect(authenticated());
+
+        verify(userDetailsService, times(1)).loadUserByUsername(user.getUsername());
+        assertNotNull(userCache.getUserFromCache(user.getUsername()), "The user should stay cached after login");
+    }
+
+    @Test
+    public void testSessionHoldsPrincipalWithoutPassword() throws Exception {
+        User user = register("cachesession");
+
+        MvcResult result = mockMvc.perform(formLogin().user(user.getUsername()).password(PASSWORD))
+                .andExpect(authenticated())
+                .andReturn();
+
+        MockHttpSession session = (MockHttpSession) result.getRequest().getSession(false);
+        assertNotNull(session, "A successful login should create a session");
+        SecurityContext context = (SecurityContext) session.getAttribute(
+                HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
+        Authentication authentication = context.getAuthentication();
+        assertTrue(authentication.getPrincipal() instanceof AuthenticatedUser,
+                "The session should hold the slim principal, not the entity");
+        AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+        assertEquals(user.getId(), principal.getId(), "The principal should identify the user");
+        assertNull(principal.getPassword(), "The session principal should not carry the password hash");
+        assertNotNull(userCache.getUserFromCache(user.getUsername()).getPassword(),
+                "The cached copy keeps its hash for later credential checks");
+    }
+
+    @Test
+    public void testUpdateUserEvictsOldAndNewUsernamesAfterCommit() {
+        User user = register("cacherename");
+        User stale = register("cacherenamed");
+        cache(user);
+        // A stale entry under the new name, e.g. left by a user that had it before
+        cache(stale);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", stale.getId());
+
+        User details = new User("cacherenamed", null, user.getEmail());
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.updateUser(user.getId(), details);
+            assertNotNull(userCache.getUserFromCache("cacherename"), "Nothing should be evicted before commit");
+        });
+
+        assertNull(userCache.getUserFromCache("cacherename"), "The old username should be evicted");
+        assertNull(userCache.getUserFromCache("cacherenamed"), "The new username should be evicted");
+    }
+
+    @Test
+    public void testUpdateProfileEvictsAfterCommit() {
+        User user = register("cacheprofile");
+        cache(user);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.updateProfile(user.getId(), null, "New bio");
+            assertNotNull(userCache.getUserFromCache(user.getUsername()), "Nothing should be evicted before commit");
+        });
+
+        assertNull(userCache.getUserFromCache(user.getUsername()), "A profile change should evict the user");
+    }
+
+    @Test
+    public void testDeleteUserEvictsAfterCommit() {
+        User user = register("cachedelete");
+        cache(user);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.deleteUser(user.getId());
+            assertNotNull(userCache.getUserFromCache(user.getUsername()), "Nothing should be evicted before commit");
+        });
+
+        assertNull(userCache.getUserFromCache(user.getUsername()), "A deleted user should be evicted");
+    }
+
+    private User register(String username) {
+        User user = userService.registerUser(new User(username, PASSWORD, username + "@example.com"));
+        userIds.add(user.getId());
+        return user;
+    }
+
+    private void cache(User user) {
+        userCache.putUserInCache(AuthenticatedUser.from(user));
+        assertNotNull(userCache.getUserFromCache(user.getUsername()), "The entry should be cached");
+    }
+}
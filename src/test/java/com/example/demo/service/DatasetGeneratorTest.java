@@ -0,0 +1,71 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for the synthetic dataset generator.
+ * The generator commits its own batches, so the rows are removed again after the test.
+ */
+@SpringBootTest
+public class DatasetGeneratorTest {
+
+    private static final long SEED = 7L;
+
+    @Autowired
+    private DatasetGenerator datasetGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserAvailabilityFilter availabilityFilter;
+
+    @Test
+    public void testGeneratesSkewedDatasetOfRequestedSize() {
+        long usersBefore = count("SELECT COUNT(*) FROM users");
+        long postsBefore = count("SELECT COUNT(*) FROM posts");
+        long boardsBefore = count("SELECT COUNT(*) FROM boards");
+        long notificationsBefore = count("SELECT COUNT(*) FROM notifications");
+        long lastBoardId = count("SELECT COALESCE(MAX(id), 0) FROM boards");
+        try {
+            assertEquals(5 + 50 + 600 + 300, datasetGenerator.generate(5, 50, 600, 300, SEED),
+                    "Every requested row should be written");
+
+            assertEquals(usersBefore + 50, count("SELECT COUNT(*) FROM users"), "Users should be added");
+            assertEquals(postsBefore + 600, count("SELECT COUNT(*) FROM posts"), "Posts should be added");
+            assertEquals(notificationsBefore + 300, count("SELECT COUNT(*) FROM notifications"),
+                    "Notifications should be added");
+
+            List<Long> postCounts = jdbcTemplate.queryForList(
+                    "SELECT post_count FROM boards WHERE id > ? ORDER BY post_count DESC", Long.class, lastBoardId);
+            assertEquals(600, postCounts.stream().mapToLong(Long::longValue).sum(),
+                    "Board post counts should match the generated posts");
+            assertTrue(postCounts.get(0) > 600 / 5 * 2, "The most popular board should get far more than an even share");
+            assertEquals(0, count("SELECT COUNT(*) FROM posts WHERE excerpt IS NULL"), "Posts should have excerpts");
+            assertTrue(availabilityFilter.mightHaveUsername("user" + SEED + "_0"),
+                    "Generated usernames should not be reported available");
+        } finally {
+            cleanUp(lastBoardId);
+        }
+        assertEquals(boardsBefore, count("SELECT COUNT(*) FROM boards"), "Generated boards should be removed");
+    }
+
+    private void cleanUp(long lastBoardId) {
+        String users = "SELECT id FROM users WHERE username LIKE 'user" + SEED + "\\_%' ESCAPE '\\'";
+        jdbcTemplate.update("DELETE FROM notifications WHERE user_id IN (" + users + ")");
+        jdbcTemplate.update("DELETE FROM posts WHERE board_id > ?", lastBoardId);
+        jdbcTemplate.update("DELETE FROM users WHERE id IN (" + users + ")");
+        jdbcTemplate.update("DELETE FROM boards WHERE id > ?", lastBoardId);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
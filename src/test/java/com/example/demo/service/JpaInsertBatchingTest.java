@@ -0,0 +1,147 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Board;
+import com.example.demo.model.Notification;
+import com.example.demo.model.Post;
+import com.example.demo.model.User;
+import com.example.demo.repository.BoardRepository;
+import com.example.demo.repository.NotificationRepository;
+import com.example.demo.repository.PostRepository;
+import com.example.demo.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for JDBC batching of JPA inserts.
+ * Compares flushing after every row, which is how IDENTITY IDs forced every insert to run,
+ * with a single flush of sequence-ID entities, and logs rows per second of both.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+public class JpaInsertBatchingTest {
+
+    private static final Logger log = LoggerFactory.getLogger(JpaInsertBatchingTest.class);
+
+    private static final int ROWS = 1000;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Board board;
+    private User author;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        board = boardRepository.save(new Board("batch-board", "Board for batching tests"));
+        author = userRepository.saveAndFlush(new User("batchauthor", "password123", "batchauthor@example.com"));
+    }
+
+    @Test
+    public void testBulkPostInsertIsBatched() {
+        List<Post> single = newPosts("row");
+        statistics.clear();
+        long start = System.nanoTime();
+        for (Post post : single) {
+            post.setBoard(board);
+            post.setAuthor(author);
+            postRepository.saveAndFlush(post);
+        }
+        long perRowNanos = System.nanoTime() - start;
+        long perRowStatements = statistics.getPrepareStatementCount();
+
+        List<Post> batched = newPosts("bulk");
+        statistics.clear();
+        start = System.nanoTime();
+        postService.createPosts(batched, board.getId(), author.getId());
+        entityManager.flush();
+        long batchNanos = System.nanoTime() - start;
+        long batchStatements = statistics.getPrepareStatementCount();
+
+        log.info("Inserted {} posts: per-row {} rows/s ({} statements), batched {} rows/s ({} statements)", ROWS,
+                rowsPerSecond(perRowNanos), perRowStatements, rowsPerSecond(batchNanos), batchStatements);
+        assertTrue(perRowStatements >= ROWS, "Flushing every row should send one insert per row");
+        assertTrue(batchStatements < ROWS / 10, "Bulk creation should send the inserts in batches");
+        batched.forEach(post -> assertNotNull(post.getId(), "Every post should get a sequence ID"));
+        assertEquals(ROWS, batched.stream().map(Post::getId).distinct().count(), "Sequence IDs should be unique");
+    }
+
+    @Test
+    public void testBulkNotificationInsertIsBatched() {
+        List<Notification> single = newNotifications("row");
+        statistics.clear();
+        long start = System.nanoTime();
+        for (Notification notification : single) {
+            notificationRepository.saveAndFlush(notification);
+        }
+        long perRowNanos = System.nanoTime() - start;
+        long perRowStatements = statistics.getPrepareStatementCount();
+
+        List<Notification> batched = newNotifications("bulk");
+        statistics.clear();
+        start = System.nanoTime();
+        notificationRepository.saveAll(batched);
+        notificationRepository.flush();
+        long batchNanos = System.nanoTime() - start;
+        long batchStatements = statistics.getPrepareStatementCount();
+
+        log.info("Inserted {} notifications: per-row {} rows/s ({} statements), batched {} rows/s ({} statements)",
+                ROWS, rowsPerSecond(perRowNanos), perRowStatements, rowsPerSecond(batchNanos), batchStatements);
+        assertTrue(batchStatements < ROWS / 10, "Saving many notifications should send the inserts in batches");
+        assertEquals(2L * ROWS, notificationRepository.countByUserIdAndIsRead(author.getId(), false),
+                "Every notification should be written");
+    }
+
+    private static List<Post> newPosts(String prefix) {
+        List<Post> posts = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            posts.add(new Post(prefix + " post " + i, "Content of " + prefix + " post " + i, null, null));
+        }
+        return posts;
+    }
+
+    private List<Notification> newNotifications(String prefix) {
+        List<Notification> notifications = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            notifications.add(new Notification(author, "BATCH", prefix + " notification " + i, null));
+        }
+        return notifications;
+    }
+
+    private static long rowsPerSecond(long nanos) {
+        return ROWS * 1_000_000_000L / Math.max(1, nanos);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.demo.service;
+
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for the write-behind last-login tracker.
+ * The scheduled flush is pushed out so only the explicit flushes in the tests write to the database.
+ */
+@SpringBootTest(properties = "board.last-login.flush-interval-ms=3600000")
+@Transactional
+public class LastLoginTrackerTest {
+
+    @Autowired
+    private LastLoginTracker lastLoginTracker;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testLoginsAreBufferedUntilFlush() {
+        User user = createUser("lastloginuser1");
+
+        userService.updateLastLogin(user.getId());
+
+        assertNull(readLastLogin(user.getId()), "Last login should not be written synchronously");
+        assertNotNull(lastLoginTracker.getPendingLogin(user.getId()), "Login time should be pending in memory");
+
+        lastLoginTracker.flush();
+
+        assertNotNull(readLastLogin(user.getId()), "Flush should write the login time");
+        assertNull(lastLoginTracker.getPendingLogin(user.getId()), "No login should be pending after flush");
+    }
+
+    @Test
+    public void testFlushWritesLatestLoginOfEveryUser() {
+        User first = createUser("lastloginuser2");
+        User second = createUser("lastloginuser3");
+        LocalDateTime earlier = LocalDateTime.of(2024, 1, 1, 9, 0);
+        LocalDateTime later = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+        lastLoginTracker.record(first.getId(), later);
+        lastLoginTracker.record(first.getId(), earlier);
+        lastLoginTracker.record(second.getId(), earlier);
+        lastLoginTracker.flush();
+
+        assertEquals(later, readLastLogin(first.getId()), "Only the latest login of a user should be kept");
+        assertEquals(earlier, readLastLogin(second.getId()), "Every pending user should be updated in the same flush");
+    }
+
+    @Test
+    public void testSavingStaleUserKeepsFlushedLogin() {
+        User user = createUser("lastloginuser4");
+        LocalDateTime login = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+        // The entity loaded before the flush still holds no last login
+        lastLoginTracker.record(user.getId(), login);
+        lastLoginTracker.flush();
+        userService.updateProfile(user.getId(), null, "Updated bio");
+        userService.updateThemePreference(user.getId(), "dark");
+        userRepository.flush();
+
+        assertEquals(login, readLastLogin(user.getId()), "Saving the user should not overwrite the flushed login");
+    }
+
+    private User createUser(String username) {
+        User user = userRepository.save(new User(username, "password123", username + "@example.com"));
+        userRepository.flush();
+        return user;
+    }
+
+    private LocalDateTime readLastLogin(Long userId) {
+        Timestamp lastLogin = jdbcTemplate.queryForObject(
+                "SELECT last_login FROM users WHERE id = ?", Timestamp.class, userId);
+        return lastLogin != null ? lastLogin.toLocalDateTime() : null;
+    }
+}
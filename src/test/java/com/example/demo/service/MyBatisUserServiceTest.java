@@ -0,0 +1,173 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.UserUpdate;
+import com.example.demo.model.User;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for the MyBatis batch operations.
+ * The throughput test logs rows per second of the per-row and the batched insert path.
+ */
+@SpringBootTest(properties = "board.mybatis.batch-size=50")
+@Transactional
+public class MyBatisUserServiceTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MyBatisUserServiceTest.class);
+
+    @Autowired
+    private MyBatisUserService myBatisUserService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserAvailabilityFilter availabilityFilter;
+
+    @Test
+    public void testBatchInsertAssignsIdsAndFindsByIds() {
+        List<User> users = newUsers("batchuser", 120);
+
+        myBatisUserService.registerUsers(users);
+
+        List<Long> ids = new ArrayList<>();
+        for (User user : users) {
+            assertNotNull(user.getId(), "Every inserted user should get its generated ID");
+            ids.add(user.getId());
+        }
+        assertEquals(120, myBatisUserService.getUsersByIds(ids).size(), "All users should be found by ID");
+        assertTrue(myBatisUserService.getUsersByIds(new ArrayList<>()).isEmpty(), "No IDs should find no users");
+    }
+
+    @Test
+    public void testWrittenUsersAreNotReportedAvailable() {
+        myBatisUserService.registerUser(new User("filtersingle", "password123", "filtersingle@example.com"));
+        myBatisUserService.registerUsers(newUsers("filterbatch", 3));
+        User user = myBatisUserService.registerUser(new User("filterold", "password123", "filterold@example.com"));
+        UserUpdate rename = new UserUpdate();
+        rename.setUsername("filterrenamed");
+        rename.setEmail("filterrenamed@example.com");
+        myBatisUserService.updateUser(user.getId(), rename);
+
+        for (String username : new String[] {"filtersingle", "filterbatch0", "filterbatch2", "filterrenamed"}) {
+            assertTrue(availabilityFilter.mightHaveUsername(username), username + " should be known to the filter");
+        }
+        assertTrue(availabilityFilter.mightHaveEmail("filtersingle@example.com"), "A registered email should be known");
+        assertTrue(availabilityFilter.mightHaveEmail("filterrenamed@example.com"), "A changed email should be known");
+    }
+
+    @Test
+    public void testUpdateWritesOnlyGivenFields() {
+        User newUser = new User("selectiveuser", "password123", "selective@example.com");
+        newUser.setThemePreference("dark");
+        User user = myBatisUserService.registerUser(newUser);
+
+        UserUpdate changes = new UserUpdate();
+        changes.setEmail("changed@example.com");
+        User updated = myBatisUserService.updateUser(user.getId(), changes);
+
+        assertEquals("changed@example.com", updated.getEmail(), "The given field should be updated");
+        assertEquals("selectiveuser", updated.getUsername(), "Omitted fields should keep their values");
+        assertEquals("password123", updated.getPassword(), "Omitted fields should keep their values");
+        assertEquals("dark", jdbcTemplate.queryForObject("SELECT theme_preference FROM users WHERE id = ?",
+                String.class, user.getId()), "An email-only update should keep the stored theme");
+        assertThrows(IllegalArgumentException.class, () -> myBatisUserService.updateUser(-1L, changes),
+                "Updating a missing user should fail");
+    }
+
+    @Test
+    public void testImportStreamsJsonArrayInBatches() throws Exception {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 75; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"username\":\"importuser").append(i)
+                    .append("\",\"password\":\"password123\",\"email\":\"import").append(i).append("@example.com\"}");
+        }
+        json.append(']');
+
+        int imported = myBatisUserService.importUsers(
+                new ByteArrayInputStream(json.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(75, imported, "Every user in the array should be imported");
+        assertEquals(75, countUsers("importuser%"), "Imported users should be in the database");
+        assertThrows(IllegalArgumentException.class, () -> myBatisUserService.importUsers(
+                new ByteArrayInputStream("{\"username\":\"x\"}".getBytes(StandardCharsets.UTF_8))),
+                "A body that is not an array should be rejected");
+    }
+
+    @Test
+    public void testExportWritesEveryUserWithoutPasswords() throws Exception {
+        myBatisUserService.registerUsers(newUsers("exportuser", 30));
+        int total = countUsers("%");
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        int exported = myBatisUserService.exportUsers(ndjson, MyBatisUserService.ExportFormat.NDJSON);
+        String lines = ndjson.toString(StandardCharsets.UTF_8.name());
+
+        assertEquals(total, exported, "Every user should be exported");
+        assertEquals(total, lines.split("\n").length, "NDJSON should have one line per user");
+        assertTrue(lines.contains("\"username\":\"exportuser0\""), "Exported rows should contain usernames");
+        assertFalse(lines.contains("password"), "Passwords should never be exported");
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        myBatisUserService.exportUsers(csv, MyBatisUserService.ExportFormat.CSV);
+        String[] rows = csv.toString(StandardCharsets.UTF_8.name()).split("\r\n");
+
+        assertEquals("id,username,email,created_at,last_login", rows[0], "CSV should start with a header");
+        assertEquals(total + 1, rows.length, "CSV should have a row per user after the header");
+    }
+
+    @Test
+    public void testBatchInsertThroughput() {
+        int rows = 1000;
+
+        List<User> single = newUsers("rowuser", rows);
+        long start = System.nanoTime();
+        for (User user : single) {
+            myBatisUserService.registerUser(user);
+        }
+        long perRowNanos = System.nanoTime() - start;
+
+        List<User> batched = newUsers("bulkuser", rows);
+        start = System.nanoTime();
+        myBatisUserService.registerUsers(batched);
+        long batchNanos = System.nanoTime() - start;
+
+        log.info("Inserted {} users: per-row {} rows/s, batched {} rows/s", rows,
+                rowsPerSecond(rows, perRowNanos), rowsPerSecond(rows, batchNanos));
+        assertEquals(rows, countUsers("rowuser%"), "Per-row inserts should all be written");
+        assertEquals(rows, countUsers("bulkuser%"), "Batched inserts should all be written");
+    }
+
+    private static List<User> newUsers(String prefix, int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(new User(prefix + i, "password123", prefix + i + "@example.com"));
+        }
+        return users;
+    }
+
+    private int countUsers(String usernamePattern) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE username LIKE ?",
+                Integer.class, usernamePattern);
+    }
+
+    private static long rowsPerSecond(int rows, long nanos) {
+        return rows * 1_000_000_000L / Math.max(1, nanos);
+    }
+}
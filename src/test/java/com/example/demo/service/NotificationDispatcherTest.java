@@ -0,0 +1,105 @@
+package com.example.demo.service;
+
+import com.example.demo.model.User;
+import com.example.demo.repository.NotificationRepository;
+import com.example.demo.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for the asynchronous notification pipeline.
+ * No worker threads are started, so notifications stay queued until the test drains them
+ * as one batch. Not transactional: the drain writes and commits in its own transaction.
+ */
+@SpringBootTest(properties = "board.notifications.workers=0")
+public class NotificationDispatcherTest {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+
+    @AfterEach
+    public void cleanUp() {
+        if (user != null) {
+            jdbcTemplate.update("DELETE FROM notifications WHERE user_id = ?", user.getId());
+            userRepository.deleteById(user.getId());
+        }
+    }
+
+    @Test
+    public void testNotificationsAreWrittenAsynchronouslyAndCoalesced() {
+        user = userRepository.save(new User("dispatchuser", "password123", "dispatchuser@example.com"));
+        double coalescedBefore = meterRegistry.counter("board.notifications.coalesced").count();
+
+        notificationService.notifyUsers(Arrays.asList(user.getId(), user.getId()), "system", "Same message", null);
+        notificationService.createNotification(user, "system", "Another message", "/posts");
+
+        assertEquals(3, notificationDispatcher.getQueueDepth(), "Notifications should only be queued");
+        assertEquals(0, notificationRepository.countByUserIdAndIsRead(user.getId(), false),
+                "Nothing should be written before the queue is drained");
+
+        notificationDispatcher.drainNow();
+
+        assertEquals(0, notificationDispatcher.getQueueDepth(), "The drain should empty the queue");
+        assertEquals(2, notificationRepository.countByUserIdAndIsRead(user.getId(), false),
+                "The duplicate in the batch should be coalesced into one row");
+        int sameMessages = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notifications WHERE user_id = ? AND content = ?",
+                Integer.class, user.getId(), "Same message");
+        assertEquals(1, sameMessages, "The duplicated message should be written once");
+        int aggregateCount = jdbcTemplate.queryForObject(
+                "SELECT aggregate_count FROM notifications WHERE user_id = ? AND content = ?",
+                Integer.class, user.getId(), "Same message");
+        assertEquals(2, aggregateCount, "The merged row should count both notifications");
+        assertEquals(1.0, meterRegistry.counter("board.notifications.coalesced").count() - coalescedBefore,
+                "Exactly one duplicate should be counted as coalesced");
+    }
+
+    @Test
+    public void testNotificationsAreQueuedOnlyAfterCommit() {
+        user = userRepository.save(new User("commituser", "password123", "commituser@example.com"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            notificationService.createNotification(user, "system", "Rolled back", null);
+            assertEquals(0, notificationDispatcher.getQueueDepth(), "Nothing should be queued before commit");
+            status.setRollbackOnly();
+        });
+        assertEquals(0, notificationDispatcher.getQueueDepth(), "A rolled-back caller should notify nobody");
+
+        transactionTemplate.executeWithoutResult(status ->
+                notificationService.createNotification(user, "system", "Committed", null));
+        assertEquals(1, notificationDispatcher.getQueueDepth(), "A committed caller should queue its notification");
+
+        notificationDispatcher.drainNow();
+        assertEquals(1, notificationRepository.countByUserIdAndIsRead(user.getId(), false),
+                "Only the committed notification should be written");
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Notification;
+import com.example.demo.model.User;
+import com.example.demo.repository.NotificationRepository;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for notification retention.
+ * A batch size of 2 makes the jobs go through several chunks.
+ */
+@SpringBootTest(properties = {
+        "board.notifications.retention.batch-size=2",
+        "board.notifications.retention.pause-ms=0"
+})
+@Transactional
+public class NotificationRetentionJobTest {
+
+    @Autowired
+    private NotificationRetentionJob retentionJob;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void testPurgeDeletesOnlyExpiredReadNotifications() {
+        User user = userRepository.save(new User("retentionuser", "password123", "retentionuser@example.com"));
+        LocalDateTime old = LocalDateTime.now().minusDays(60);
+        for (int i = 0; i < 5; i++) {
+            notify(user, "Old read " + i, null, true, old);
+        }
+        Notification oldUnread = notify(user, "Old unread", null, false, old);
+        Notification recentRead = notify(user, "Recent read", null, true, LocalDateTime.now());
+
+        assertTrue(retentionJob.purgeExpiredReadNotifications() >= 5, "All expired read notifications should be deleted");
+        // The job writes with plain JDBC, so drop the entities cached by this test
+        entityManager.clear();
+        assertTrue(notificationRepository.findById(oldUnread.getId()).isPresent(), "Unread notifications are kept");
+        assertTrue(notificationRepository.findById(recentRead.getId()).isPresent(), "Recent notifications are kept");
+        assertEquals(2, notificationRepository.findByUserOrderByCreatedAtDesc(user).size(), "Only two notifications should remain");
+    }
+
+    @Test
+    public void testCollapseFoldsRepeatedNotificationsIntoNewest() {
+        User user = userRepository.save(new User("collapseuser", "password123", "collapseuser@example.com"));
+        LocalDateTime old = LocalDateTime.now().minusDays(2);
+        notify(user, "New post", "/posts/1", true, old);
+        notify(user, "New post", "/posts/1", true, old);
+        Notification newest = notify(user, "New post", "/posts/1", true, old);
+        Notification other = notify(user, "New post", "/posts/2", true, old);
+
+        assertEquals(2, retentionJob.collapseRepeatedNotifications(), "Two repeated rows should be folded");
+        entityManager.clear();
+
+        Notification kept = notificationRepository.findById(newest.getId()).get();
+        assertEquals(3, kept.getAggregateCount(), "The newest row should stand for all three");
+        assertEquals(1, notificationRepository.findById(other.getId()).get().getAggregateCount(), "Unrelated rows are untouched");
+        assertEquals(2, notificationRepository.countByUserIdAndIsRead(user.getId(), true), "Two read rows should remain");
+    }
+
+    @Test
+    public void testCollapseLeavesRecentRowsWithSmallerIdsAlone() {
+        User user = userRepository.save(new User("collapseorder", "password123", "collapseorder@example.com"));
+        // Saved first, so it has the smallest ID although it is the newest row
+        Notification recent = notify(user, "New post", "/posts/3", true, LocalDateTime.now());
+        Notification newestOld = notify(user, "New post", "/posts/3", true, LocalDateTime.now().minusDays(2));
+        notify(user, "New post", "/posts/3", true, LocalDateTime.now().minusDays(3));
+
+        assertEquals(1, retentionJob.collapseRepeatedNotifications(), "Only the older repeated row should be folded");
+        entityManager.clear();
+
+        assertEquals(1, notificationRepository.findById(recent.getId()).get().getAggregateCount(),
+                "Rows newer than the minimum age are neither folded nor counted");
+        assertEquals(2, notificationRepository.findById(newestOld.getId()).get().getAggregateCount(),
+                "The newest old row should stand for both old rows");
+    }
+
+    @Test
+    public void testCollapseLeavesUnreadNotificationsAlone() {
+        User user = userRepository.save(new User("collapseunread", "password123", "collapseunread@example.com"));
+        LocalDateTime old = LocalDateTime.now().minusDays(2);
+        Notification first = notify(user, "First comment", "/posts/4", false, old);
+        Notification second = notify(user, "Second comment", "/posts/4", false, old);
+
+        assertEquals(0, retentionJob.collapseRepeatedNotifications(), "Unread notifications should not be folded");
+        entityManager.clear();
+
+        assertEquals("First comment", notificationRepository.findById(first.getId()).get().getContent(),
+                "Each unread notification should keep its own text");
+        assertTrue(notificationRepository.findById(second.getId()).isPresent(), "Unread notifications are kept");
+    }
+
+    private Notification notify(User user, String content, String relatedUrl, boolean read, LocalDateTime createdAt) {
+        Notification notification = new Notification(user, "new_post", content, relatedUrl);
+        notification.setRead(read);
+        notification.setCreatedAt(createdAt);
+        return notificationRepository.save(notification);
+    }
+}
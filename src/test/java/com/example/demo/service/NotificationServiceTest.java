@@ -0,0 +1,98 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.NotificationSummary;
+import com.example.demo.model.Notification;
+import com.example.demo.model.User;
+import com.example.demo.repository.NotificationRepository;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for the bulk notification operations.
+ * Notifications are saved through the repository so the tests only exercise the bulk statements.
+ */
+@SpringBootTest
+@Transactional
+public class NotificationServiceTest {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    public void testMarkAllAsReadUpdatesOnlyUnreadNotificationsOfUser() {
+        User user = userRepository.save(new User("bulkreader", "password123", "bulkreader@example.com"));
+        User other = userRepository.save(new User("bulkother", "password123", "bulkother@example.com"));
+        notify(user, false);
+        notify(user, false);
+        notify(user, true);
+        Notification otherUnread = notify(other, false);
+
+        assertEquals(2, notificationService.markAllNotificationsAsRead(user.getId()), "Only unread notifications should be updated");
+        assertEquals(0, notificationRepository.countByUserIdAndIsRead(user.getId(), false), "User should have no unread notifications");
+        assertFalse(notificationRepository.findById(otherUnread.getId()).get().isRead(), "Other users should be unaffected");
+    }
+
+    @Test
+    public void testMarkAllAsReadKeepsPersistenceContextConsistent() {
+        User user = userRepository.save(new User("ctxreader", "password123", "ctxreader@example.com"));
+        Notification notification = notify(user, false);
+
+        // A managed entity with an unflushed change
+        notification.setContent("Edited before the bulk update");
+
+        notificationService.markAllNotificationsAsRead(user.getId());
+
+        Notification reloaded = notificationRepository.findById(notification.getId()).get();
+        assertNotSame(notification, reloaded, "The persistence context should be cleared by the bulk update");
+        assertTrue(reloaded.isRead(), "Reloaded entity should see the bulk update");
+        assertEquals("Edited before the bulk update", reloaded.getContent(), "Pending changes should be flushed, not lost");
+    }
+
+    @Test
+    public void testDeleteReadNotifications() {
+        User user = userRepository.save(new User("bulkdeleter", "password123", "bulkdeleter@example.com"));
+        Notification read = notify(user, true);
+        Notification unread = notify(user, false);
+
+        assertEquals(1, notificationService.deleteReadNotifications(user.getId()), "Only read notifications should be deleted");
+        assertFalse(notificationRepository.findById(read.getId()).isPresent(), "Read notification should be gone");
+        assertTrue(notificationRepository.findById(unread.getId()).isPresent(), "Unread notification should remain");
+    }
+
+    @Test
+    public void testInboxPagesWithCursor() {
+        User user = userRepository.save(new User("inboxpager", "password123", "inboxpager@example.com"));
+        for (int i = 0; i < 5; i++) {
+            notify(user, i % 2 == 0);
+        }
+
+        CursorPage<NotificationSummary> first = notificationService.getNotificationPage(user.getId(), false, null, 3);
+        assertEquals(3, first.getContent().size(), "First page should be full");
+        assertTrue(first.hasNext(), "There should be a second page");
+
+        CursorPage<NotificationSummary> second = notificationService.getNotificationPage(user.getId(), false, first.getNextCursor(), 3);
+        assertEquals(2, second.getContent().size(), "Second page should hold the rest");
+        assertFalse(second.hasNext(), "There should be no third page");
+
+        CursorPage<NotificationSummary> unread = notificationService.getNotificationPage(user.getId(), true, null, 10);
+        assertEquals(2, unread.getContent().size(), "Only unread notifications should be returned");
+    }
+
+    private Notification notify(User user, boolean read) {
+        Notification notification = new Notification(user, "system", "Test notification", null);
+        notification.setRead(read);
+        return notificationRepository.save(notification);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+public class PopularPostLeaderboardTest {
+
+  private final MutableClock clock = new MutableClock();
+  private final PopularPostLeaderboard leaderboard =
+      new PopularPostLeaderboard(null, clock, Duration.ofHours(1), 2);
+
+  /** Test that posts are ranked by views, globally and per board. */
+  @Test
+  public void testRanksByViews() {
+    view(1L, 10L, 3);
+    view(2L, 10L, 1);
+    view(3L, 20L, 2);
+
+    assertEquals(Arrays.asList(1L, 3L), leaderboard.getTopPostIds(null, 5), "Global top 2");
+    assertEquals(Arrays.asList(1L, 2L), leaderboard.getTopPostIds(10L, 5), "Board 10 ranking");
+    assertEquals(Collections.singletonList(3L), leaderboard.getTopPostIds(20L, 5), "Board 20 ranking");
+  }
+
+  /** Test that a post pushed out of the top K comes back once it overtakes. */
+  @Test
+  public void testEvictedPostCanReturn() {
+    view(1L, 10L, 2);
+    view(2L, 10L, 2);
+    view(3L, 10L, 1);
+    assertEquals(Arrays.asList(2L, 1L), leaderboard.getTopPostIds(null, 5), "Post 3 does not fit");
+
+    view(3L, 10L, 2);
+    assertEquals(Arrays.asList(3L, 2L), leaderboard.getTopPostIds(null, 5), "Post 3 overtakes");
+  }
+
+  /** Test that recent views outweigh older ones. */
+  @Test
+  public void testOldViewsDecay() {
+    view(1L, 10L, 3);
+    clock.advance(Duration.ofHours(2));
+    view(2L, 10L, 1);
+
+    // 3 views two half-lives ago are worth 0.75 views now
+    assertEquals(Arrays.asList(2L, 1L), leaderboard.getTopPostIds(null, 5), "Newer views should win");
+  }
+
+  /** Test that removed posts leave every ranking. */
+  @Test
+  public void testRemove() {
+    view(1L, 10L, 2);
+    view(2L, 10L, 1);
+    leaderboard.remove(1L);
+
+    assertEquals(Collections.singletonList(2L), leaderboard.getTopPostIds(null, 5), "Global ranking");
+    assertEquals(Collections.singletonList(2L), leaderboard.getTopPostIds(10L, 5), "Board ranking");
+  }
+
+  private void view(Long postId, Long boardId, int times) {
+    for (int i = 0; i < times; i++) {
+      leaderboard.recordView(postId, boardId);
+    }
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package com.example.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.demo.event.PostChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class PostCountCacheTest {
+
+  private final PostCountCache cache = new PostCountCache(new SimpleMeterRegistry(),
+      Duration.ofMinutes(1), Duration.ofMinutes(10), 100, 1000);
+
+  /** Test that a cached count is served without recounting. */
+  @Test
+  public void testCountIsCached() {
+    AtomicLong counts = new AtomicLong();
+    cache.get(PostCountCache.ALL_POSTS, () -> { counts.incrementAndGet(); return 5; });
+    cache.get(PostCountCache.ALL_POSTS, () -> { counts.incrementAndGet(); return 5; });
+
+    assertEquals(1, counts.get(), "The second read should hit the cache");
+  }
+
+  /** Test that an exact count is evicted on a write and recounted. */
+  @Test
+  public void testExactCountIsInvalidatedOnWrite() {
+    cache.get(PostCountCache.boardKey(1L), () -> 5);
+    cache.onPostChanged(new PostChangedEvent(PostChangedEvent.Type.CREATED, 10L, 1L, "t", "c"));
+
+    assertEquals(6, cache.get(PostCountCache.boardKey(1L), () -> 6), "A small count should be recounted");
+  }
+
+  /** Test that an approximate count is adjusted in place on a write. */
+  @Test
+  public void testApproximateCountIsAdjustedOnWrite() {
+    cache.get(PostCountCache.ALL_POSTS, () -> 500);
+    cache.onPostChanged(new PostChangedEvent(PostChangedEvent.Type.CREATED, 10L, 1L, "t", "c"));
+    cache.onPostChanged(new PostChangedEvent(PostChangedEvent.Type.CREATED, 11L, 1L, "t", "c"));
+    cache.onPostChanged(PostChangedEvent.deleted(10L, 1L));
+
+    assertEquals(501, cache.get(PostCountCache.ALL_POSTS, () -> 0), "A large count should follow the deltas");
+  }
+
+  /** Test that updates leave cached counts alone. */
+  @Test
+  public void testUpdateDoesNotTouchCounts() {
+    cache.get(PostCountCache.boardKey(2L), () -> 3);
+    cache.onPostChanged(new PostChangedEvent(PostChangedEvent.Type.UPDATED, 10L, 2L, "t", "c"));
+
+    assertEquals(3, cache.get(PostCountCache.boardKey(2L), () -> 99), "An update should keep the cached count");
+  }
+}
@@ -0,0 +1,169 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.KeysetCursor;
+import com.example.demo.dto.PostSummary;
+import com.example.demo.model.Board;
+import com.example.demo.model.Post;
+import com.example.demo.model.User;
+import com.example.demo.repository.BoardRepository;
+import com.example.demo.repository.PostRepository;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for PostService.
+ */
+@SpringBootTest
+@Transactional
+public class PostServiceTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private BoardService boardService;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostExcerptBackfill postExcerptBackfill;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testPostCountFollowsCreateAndDelete() {
+        Board board = boardRepository.save(new Board("count-board", "Board for post count tests"));
+        User author = userRepository.save(new User("countuser", "password123", "countuser@example.com"));
+
+        Post first = postService.createPost(new Post("First", "Content", null, null), board.getId(), author.getId());
+        postService.createPost(new Post("Second", "Content", null, null), board.getId(), author.getId());
+        assertEquals(2, readPostCount(board.getId()), "Creating posts should increment the board post count");
+
+        postService.deletePost(first.getId());
+        assertEquals(1, readPostCount(board.getId()), "Deleting a post should decrement the board post count");
+    }
+
+    @Test
+    public void testReconcileRepairsDrift() {
+        Board board = boardRepository.save(new Board("drift-board", "Board for reconciliation tests"));
+        User author = userRepository.save(new User("driftuser", "password123", "driftuser@example.com"));
+        postService.createPost(new Post("Post", "Content", null, null), board.getId(), author.getId());
+
+        // Simulate a change made outside the application
+        jdbcTemplate.update("UPDATE boards SET post_count = 42 WHERE id = ?", board.getId());
+
+        assertTrue(boardService.reconcilePostCounts() >= 1, "At least the drifted board should be corrected");
+        assertEquals(1, readPostCount(board.getId()), "Post count should match the posts table after reconciliation");
+    }
+
+    @Test
+    public void testExcerptIsStoredAndBackfilled() {
+        Board board = boardRepository.save(new Board("excerpt-board", "Board for excerpt tests"));
+        User author = userRepository.save(new User("excerptuser", "password123", "excerptuser@example.com"));
+        String longContent = String.join("", Collections.nCopies(50, "0123456789"));
+
+        Post post = postService.createPost(new Post("Long", longContent, null, null), board.getId(), author.getId());
+        postService.updatePost(post.getId(), new Post("Long", "Short now", null, null));
+        Post legacy = postService.createPost(new Post("Legacy", longContent, null, null), board.getId(), author.getId());
+        // Simulate a row written before the excerpt column existed
+        jdbcTemplate.update("UPDATE posts SET excerpt = NULL WHERE id = ?", legacy.getId());
+
+        assertEquals("Short now", readExcerpt(post.getId()), "Updating the content should update the excerpt");
+        assertTrue(postExcerptBackfill.backfill() >= 1, "The legacy row should be backfilled");
+        assertEquals(longContent.substring(0, Post.EXCERPT_LENGTH), readExcerpt(legacy.getId()),
+                "The backfilled excerpt should match the stored excerpt length");
+    }
+
+    @Test
+    public void testCursorPagingVisitsTiedRowsOnceInBothDirections() {
+        Board board = boardRepository.save(new Board("cursor-board", "Board for cursor paging tests"));
+        User author = userRepository.save(new User("cursoruser", "password123", "cursoruser@example.com"));
+        LocalDateTime older = LocalDateTime.of(2024, 3, 1, 12, 0);
+        LocalDateTime newer = older.plusMinutes(5);
+        LocalDateTime newest = older.plusMinutes(10);
+        // Ties on created_at straddle both page boundaries, so only the ID tiebreak keeps the order stable
+        List<LocalDateTime> createdAts = Arrays.asList(older, older, older, newer, newer, newest, newest);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < createdAts.size(); i++) {
+            ids.add(postService.createPost(new Post("Cursor " + i, "Content", null, null),
+                    board.getId(), author.getId()).getId());
+        }
+        postRepository.flush();
+        for (int i = 0; i < ids.size(); i++) {
+            jdbcTemplate.update("UPDATE posts SET created_at = ? WHERE id = ?",
+                    Timestamp.valueOf(createdAts.get(i)), ids.get(i));
+        }
+        List<Long> expected = new ArrayList<>(ids);
+        expected.sort((a, b) -> {
+            int byTime = createdAts.get(ids.indexOf(b)).compareTo(createdAts.get(ids.indexOf(a)));
+            return byTime != 0 ? byTime : b.compareTo(a);
+        });
+
+        CursorPage<PostSummary> first = postService.getPostSummariesByCursor(board.getId(), null, null, 3);
+        CursorPage<PostSummary> second = postService.getPostSummariesByCursor(board.getId(), first.getNextCursor(), null, 3);
+        CursorPage<PostSummary> third = postService.getPostSummariesByCursor(board.getId(), second.getNextCursor(), null, 3);
+
+        assertEquals(expected.subList(0, 3), idsOf(first), "The first page should hold the newest posts");
+        assertEquals(expected.subList(3, 6), idsOf(second), "The second page should continue past tied rows");
+        assertEquals(expected.subList(6, 7), idsOf(third), "The last page should hold the oldest post");
+        assertFalse(first.hasPrevious(), "The first page should have no previous page");
+        assertFalse(third.hasNext(), "The last page should have no next page");
+
+        CursorPage<PostSummary> backToSecond = postService.getPostSummariesByCursor(
+                board.getId(), null, third.getPreviousCursor(), 3);
+        assertEquals(idsOf(second), idsOf(backToSecond), "Paging back should return the same rows in the same order");
+        assertTrue(backToSecond.hasPrevious(), "There should be newer posts before the second page");
+        CursorPage<PostSummary> backToFirst = postService.getPostSummariesByCursor(
+                board.getId(), null, backToSecond.getPreviousCursor(), 3);
+        assertEquals(idsOf(first), idsOf(backToFirst), "Paging back from the second page should reach the first");
+        assertFalse(backToFirst.hasPrevious(), "Paging back should end on the first page");
+    }
+
+    @Test
+    public void testInvalidCursorIsRejected() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_000_000), 42L);
+        assertEquals(cursor, KeysetCursor.parse(cursor.toString()), "A rendered cursor should parse back");
+
+        for (String invalid : Arrays.asList(null, "", "42", ",42", "2024-03-01T12:30:15", "2024-03-01T12:30:15,",
+                "2024-03-01T12:30:15,abc", "yesterday,42")) {
+            assertThrows(IllegalArgumentException.class, () -> KeysetCursor.parse(invalid),
+                    "Cursor should be rejected: " + invalid);
+        }
+    }
+
+    private static List<Long> idsOf(CursorPage<PostSummary> page) {
+        return page.getContent().stream().map(PostSummary::getId).collect(Collectors.toList());
+    }
+
+    private String readExcerpt(Long postId) {
+        postRepository.flush();
+        return jdbcTemplate.queryForObject("SELECT excerpt FROM posts WHERE id = ?", String.class, postId);
+    }
+
+    private long readPostCount(Long boardId) {
+        return jdbcTemplate.queryForObject("SELECT post_count FROM boards WHERE id = ?", Long.class, boardId);
+    }
+}
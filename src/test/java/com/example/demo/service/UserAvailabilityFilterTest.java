@@ -0,0 +1,40 @@
+package com.example.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class UserAvailabilityFilterTest {
+
+  /** Test that every added value is reported as possibly present. */
+  @Test
+  public void testNoFalseNegatives() {
+    UserAvailabilityFilter.BloomFilter filter = new UserAvailabilityFilter.BloomFilter(1000, 0.01);
+    for (int i = 0; i < 1000; i++) {
+      filter.put("user" + i);
+    }
+
+    for (int i = 0; i < 1000; i++) {
+      assertTrue(filter.mightContain("user" + i), "An added value must never be reported absent");
+    }
+  }
+
+  /** Test that the false positive rate stays near the configured target. */
+  @Test
+  public void testFalsePositiveRate() {
+    UserAvailabilityFilter.BloomFilter filter = new UserAvailabilityFilter.BloomFilter(1000, 0.01);
+    for (int i = 0; i < 1000; i++) {
+      filter.put("user" + i);
+    }
+
+    int falsePositives = 0;
+    for (int i = 0; i < 10000; i++) {
+      if (filter.mightContain("other" + i)) {
+        falsePositives++;
+      }
+    }
+    assertTrue(falsePositives < 300, "False positives should stay close to 1%, was " + falsePositives);
+    assertFalse(filter.mightContain(null), "Null is never present");
+  }
+}
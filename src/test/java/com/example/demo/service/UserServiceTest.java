@@ -0,0 +1,78 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.UserSummary;
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+public class UserServiceTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    public void testDirectoryPagesAndSortsSummaries() {
+        for (int i = 0; i < 5; i++) {
+            userRepository.save(new User("dirpage" + i, "password123", "dirpage" + i + "@example.com"));
+        }
+
+        Page<UserSummary> page = userService.getUserDirectory("dirpage",
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "username")));
+
+        assertEquals(5, page.getTotalElements(), "All matching users should be counted");
+        assertEquals(3, page.getTotalPages(), "Matches should be split into pages");
+        assertEquals("dirpage4", page.getContent().get(0).getUsername(), "Users should be sorted as requested");
+        assertEquals("dirpage3", page.getContent().get(1).getUsername(), "Users should be sorted as requested");
+    }
+
+    @Test
+    public void testDirectoryMatchesUsernameOrEmailPrefix() {
+        userRepository.save(new User("prefixname", "password123", "other@example.com"));
+        userRepository.save(new User("othername", "password123", "prefixmail@example.com"));
+        userRepository.save(new User("unrelated", "password123", "unrelated@example.com"));
+
+        Page<UserSummary> byUsername = userService.getUserDirectory("prefix", PageRequest.of(0, 10, Sort.by("username")));
+        Page<UserSummary> byEmail = userService.getUserDirectory("prefixmail@", PageRequest.of(0, 10, Sort.by("username")));
+
+        assertEquals(1, byUsername.getTotalElements(), "A prefix without '@' should only match usernames");
+        assertEquals("prefixname", byUsername.getContent().get(0).getUsername(), "Username match should be included");
+        assertEquals(1, byEmail.getTotalElements(), "A prefix with '@' should only match emails");
+        assertEquals("othername", byEmail.getContent().get(0).getUsername(), "Email match should be included");
+    }
+
+    @Test
+    public void testRegisterRejectsTakenUsernameOrEmail() {
+        userService.registerUser(new User("takenname", "password123", "taken@example.com"));
+
+        IllegalArgumentException username = assertThrows(IllegalArgumentException.class,
+                () -> userService.registerUser(new User("takenname", "password123", "fresh@example.com")));
+        IllegalArgumentException email = assertThrows(IllegalArgumentException.class,
+                () -> userService.registerUser(new User("freshname", "password123", "taken@example.com")));
+
+        assertTrue(username.getMessage().startsWith("Username"), "A taken username should be reported as such");
+        assertTrue(email.getMessage().startsWith("Email"), "A taken email should be reported as such");
+    }
+
+    @Test
+    public void testAvailabilityChecks() {
+        userService.registerUser(new User("availname", "password123", "avail@example.com"));
+
+        assertFalse(userService.isUsernameAvailable("availname"), "A registered username should be taken");
+        assertFalse(userService.isEmailAvailable("avail@example.com"), "A registered email should be taken");
+        assertTrue(userService.isUsernameAvailable("never-registered-name"), "An unknown username should be available");
+        assertTrue(userService.isEmailAvailable("never-registered@example.com"), "An unknown email should be available");
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Board;
+import com.example.demo.model.Post;
+import com.example.demo.model.User;
+import com.example.demo.repository.BoardRepository;
+import com.example.demo.repository.PostRepository;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for the write-behind view counter.
+ * The scheduled flush is pushed out so only the explicit flushes in the tests write to the database.
+ */
+@SpringBootTest(properties = "board.view-count.flush-interval-ms=3600000")
+@Transactional
+public class ViewCountBufferTest {
+
+    @Autowired
+    private ViewCountBuffer viewCountBuffer;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testViewsAreBufferedUntilFlush() {
+        Post post = createPost();
+
+        postService.incrementViewCount(post);
+        postService.incrementViewCount(post);
+        postService.incrementViewCount(post);
+
+        // Nothing is written until the buffer is flushed
+        assertEquals(0, readViewCount(post.getId()), "View count should not be written synchronously");
+        assertEquals(3, viewCountBuffer.getPendingViews(post.getId()), "Views should be pending in memory");
+        assertEquals(3, postService.getCurrentViewCount(post), "Current view count should include pending views");
+
+        viewCountBuffer.flush();
+
+        assertEquals(3, readViewCount(post.getId()), "Flush should add the accumulated delta");
+        assertEquals(0, viewCountBuffer.getPendingViews(post.getId()), "No views should be pending after flush");
+    }
+
+    @Test
+    public void testFlushAddsToExistingCount() {
+        Post post = createPost();
+
+        postService.incrementViewCount(post);
+        viewCountBuffer.flush();
+        postService.incrementViewCount(post);
+        postService.incrementViewCount(post);
+        viewCountBuffer.flush();
+
+        assertEquals(3, readViewCount(post.getId()), "Deltas from consecutive flushes should accumulate");
+    }
+
+    private Post createPost() {
+        Board board = boardRepository.save(new Board("viewcount-board", "Board for view count tests"));
+        User author = userRepository.save(new User("viewcountuser", "password123", "viewcount@example.com"));
+        Post post = postRepository.save(new Post("Title", "Content", board, author));
+        postRepository.flush();
+        return post;
+    }
+
+    private int readViewCount(Long postId) {
+        return jdbcTemplate.queryForObject("SELECT view_count FROM posts WHERE id = ?", Integer.class, postId);
+    }
+}